@@ -0,0 +1,75 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest;
+
+/**
+ * A coarse grouping of http status codes, so callers can decide how to react to a response without catching an exception.
+ */
+public enum HttpStatusClassification {
+    SUCCESS,
+    REDIRECT,
+    RETRYABLE,
+    AUTH,
+    NOT_FOUND,
+    CLIENT,
+    SERVER,
+    UNKNOWN;
+
+    public static HttpStatusClassification classify(Integer statusCode) {
+        if (null == statusCode) {
+            return UNKNOWN;
+        }
+        switch (statusCode) {
+            case RestConstants.UNAUTHORIZED_401:
+            case RestConstants.FORBIDDEN_403:
+            case RestConstants.PROXY_AUTH_407:
+                return AUTH;
+            case RestConstants.NOT_FOUND_404:
+            case RestConstants.GONE_410:
+                return NOT_FOUND;
+            case RestConstants.CLIENT_TIMEOUT_408:
+            case RestConstants.TOO_MANY_REQUESTS_429:
+            case RestConstants.BAD_GATEWAY_502:
+            case RestConstants.UNAVAILABLE_503:
+            case RestConstants.GATEWAY_TIMEOUT_504:
+                return RETRYABLE;
+            default:
+                break;
+        }
+        if (statusCode >= RestConstants.OK_200 && statusCode < RestConstants.MULT_CHOICE_300) {
+            return SUCCESS;
+        } else if (statusCode >= RestConstants.MULT_CHOICE_300 && statusCode < RestConstants.BAD_REQUEST_400) {
+            return REDIRECT;
+        } else if (statusCode >= RestConstants.BAD_REQUEST_400 && statusCode < RestConstants.INTERNAL_ERROR_500) {
+            return CLIENT;
+        } else if (statusCode >= RestConstants.INTERNAL_ERROR_500 && statusCode < 600) {
+            return SERVER;
+        }
+        return UNKNOWN;
+    }
+
+    public boolean isError() {
+        return RETRYABLE == this || AUTH == this || NOT_FOUND == this || CLIENT == this || SERVER == this;
+    }
+
+}
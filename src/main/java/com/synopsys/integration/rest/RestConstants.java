@@ -31,6 +31,7 @@ import java.util.TimeZone;
 public class RestConstants {
     public static final String JSON_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSX";
     public static final String X_CSRF_TOKEN = "X-CSRF-TOKEN";
+    public static final String NDJSON_MIME_TYPE = "application/x-ndjson";
 
     /* 2XX: generally "OK" */
     public static final int OK_200 = HttpURLConnection.HTTP_OK;
@@ -66,6 +67,8 @@ public class RestConstants {
     public static final int ENTITY_TOO_LARGE_413 = HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
     public static final int REQ_TOO_LONG_414 = HttpURLConnection.HTTP_REQ_TOO_LONG;
     public static final int UNSUPPORTED_TYPE_415 = HttpURLConnection.HTTP_UNSUPPORTED_TYPE;
+    public static final int RANGE_NOT_SATISFIABLE_416 = 416;
+    public static final int TOO_MANY_REQUESTS_429 = 429;
 
     /* 5XX: server error */
     public static final int INTERNAL_ERROR_500 = HttpURLConnection.HTTP_INTERNAL_ERROR;
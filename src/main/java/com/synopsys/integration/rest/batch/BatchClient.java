@@ -0,0 +1,143 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpEntity;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Sends many small requests as a few batch requests to a batch endpoint. The requests are split into batches of at most maxItems items and
+ * maxBytes encoded bytes; a single item larger than maxBytes is sent in a batch of its own. The common headers and authentication of the
+ * client are sent once per batch, not per item.
+ */
+public class BatchClient {
+    public static final int DEFAULT_MAX_ITEMS = 100;
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private final IntHttpClient intHttpClient;
+    private final String batchUri;
+    private final BatchCodec batchCodec;
+    private final int maxItems;
+    private final long maxBytes;
+
+    public BatchClient(IntHttpClient intHttpClient, String batchUri, BatchCodec batchCodec) {
+        this(intHttpClient, batchUri, batchCodec, DEFAULT_MAX_ITEMS, DEFAULT_MAX_BYTES);
+    }
+
+    public BatchClient(IntHttpClient intHttpClient, String batchUri, BatchCodec batchCodec, int maxItems, long maxBytes) {
+        if (maxItems < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("A batch must allow at least one item and one byte");
+        }
+        this.intHttpClient = intHttpClient;
+        this.batchUri = batchUri;
+        this.batchCodec = batchCodec;
+        this.maxItems = maxItems;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Failures of individual items are reported in their results. A batch request that fails as a whole is thrown, and the batches after it are not sent.
+     * @return One result for each request, in the order of the requests
+     */
+    public List<BatchItemResult> execute(List<Request> requests) throws IntegrationException {
+        List<byte[]> encodedRequests = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            encodedRequests.add(batchCodec.encodeItem(i, requests.get(i)));
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        for (List<Integer> batch : split(encodedRequests)) {
+            List<byte[]> encodedItems = new ArrayList<>(batch.size());
+            for (Integer index : batch) {
+                encodedItems.add(encodedRequests.get(index));
+            }
+            for (BatchItemResult decodedResult : send(encodedItems)) {
+                BatchItemResult result = decodedResult;
+                if (decodedResult.isPositionInBatch()) {
+                    if (decodedResult.getIndex() < 0 || decodedResult.getIndex() >= batch.size()) {
+                        throw new IntegrationException(String.format("The batch response contained a result at position %d, but the batch only had %d items", decodedResult.getIndex(), batch.size()));
+                    }
+                    result = decodedResult.withIndex(batch.get(decodedResult.getIndex()));
+                }
+                if (!batch.contains(result.getIndex())) {
+                    throw new IntegrationException(String.format("The batch response contained a result for item %d, which was not in the batch", result.getIndex()));
+                }
+                results[result.getIndex()] = result;
+            }
+            for (Integer index : batch) {
+                if (null == results[index]) {
+                    throw new IntegrationException(String.format("The batch response did not contain a result for item %d", index));
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return The indexes of the items in each batch
+     */
+    public List<List<Integer>> split(List<byte[]> encodedItems) {
+        List<List<Integer>> batches = new ArrayList<>();
+        List<Integer> batch = new ArrayList<>();
+        long batchBytes = 0;
+        for (int i = 0; i < encodedItems.size(); i++) {
+            long itemBytes = encodedItems.get(i).length;
+            if (!batch.isEmpty() && (batch.size() >= maxItems || batchBytes + itemBytes > maxBytes)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(i);
+            batchBytes += itemBytes;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private List<BatchItemResult> send(List<byte[]> encodedItems) throws IntegrationException {
+        HttpEntity entity = batchCodec.createEntity(encodedItems);
+        Request batchRequest = new Request.Builder(batchUri)
+                                   .method(HttpMethod.POST)
+                                   .bodyContent(request -> entity)
+                                   .build();
+        try (Response response = intHttpClient.execute(batchRequest)) {
+            intHttpClient.throwExceptionForError(response);
+            return batchCodec.decode(response);
+        } catch (IOException e) {
+            throw new IntegrationException("Could not close the batch response: " + e.getMessage(), e);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.util.List;
+
+import org.apache.http.HttpEntity;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Packs several requests into the body of one request and unpacks the combined response.
+ */
+public interface BatchCodec {
+    /**
+     * @param index The position of the request in the whole list, which identifies the item in the combined response
+     * @return The bytes of one item, so batches can be split by size before they are assembled
+     */
+    byte[] encodeItem(int index, Request request) throws IntegrationException;
+
+    HttpEntity createEntity(List<byte[]> encodedItems);
+
+    /**
+     * @return A result for every item in the response, in any order. A result the response does not identify is reported with its position in the
+     * batch, see {@link BatchItemResult#isPositionInBatch()}.
+     */
+    List<BatchItemResult> decode(Response response) throws IntegrationException;
+
+}
@@ -0,0 +1,124 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.synopsys.integration.rest.HttpStatusClassification;
+import com.synopsys.integration.rest.RestConstants;
+
+/**
+ * The response to one request of a batch.
+ */
+public class BatchItemResult {
+    private final int index;
+    private final boolean positionInBatch;
+    private final int statusCode;
+    private final String statusMessage;
+    private final Map<String, String> headers;
+    private final byte[] content;
+
+    public BatchItemResult(int index, int statusCode, String statusMessage, Map<String, String> headers, byte[] content) {
+        this(index, false, statusCode, statusMessage, headers, content);
+    }
+
+    /**
+     * @param positionInBatch Whether the index is the position of the item in its batch, for responses that do not identify their items
+     */
+    public BatchItemResult(int index, boolean positionInBatch, int statusCode, String statusMessage, Map<String, String> headers, byte[] content) {
+        this.index = index;
+        this.positionInBatch = positionInBatch;
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        Map<String, String> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitiveHeaders.putAll(headers);
+        this.headers = Collections.unmodifiableMap(caseInsensitiveHeaders);
+        this.content = content;
+    }
+
+    /**
+     * @return The position of the request in the list given to the {@link BatchClient}, or in its batch if {@link #isPositionInBatch()}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return true when a codec could only match the result to its item by position, which the {@link BatchClient} converts to the position in the
+     * list it was given
+     */
+    public boolean isPositionInBatch() {
+        return positionInBatch;
+    }
+
+    /**
+     * @return A copy of this result for the item at the index of the list given to the {@link BatchClient}
+     */
+    public BatchItemResult withIndex(int index) {
+        return new BatchItemResult(index, false, statusCode, statusMessage, headers, content);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public boolean isStatusCodeOkay() {
+        return statusCode >= RestConstants.OK_200 && statusCode < RestConstants.MULT_CHOICE_300;
+    }
+
+    public HttpStatusClassification getStatusClassification() {
+        return HttpStatusClassification.classify(statusCode);
+    }
+
+    /**
+     * @return The headers of the item, looked up without regard to case
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getHeaderValue(String name) {
+        return headers.get(name);
+    }
+
+    public byte[] getContent() {
+        return content.clone();
+    }
+
+    public String getContentString() {
+        return getContentString(StandardCharsets.UTF_8);
+    }
+
+    public String getContentString(Charset encoding) {
+        return new String(content, encoding);
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.util.EntityUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * The parts of a request that are written into a batch item.
+ */
+class BatchItems {
+    private BatchItems() {
+    }
+
+    /**
+     * @return The path and query of the request, relative to the server
+     */
+    public static String getRelativeUri(HttpUriRequest httpUriRequest) {
+        URI uri = httpUriRequest.getURI();
+        String path = null == uri.getRawPath() || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return null == uri.getRawQuery() ? path : path + "?" + uri.getRawQuery();
+    }
+
+    /**
+     * The common request headers are left out: they, and the authentication, are sent once on the batch request.
+     */
+    public static HttpUriRequest createHttpUriRequest(Request request) throws IntegrationException {
+        return request.createHttpUriRequest(Collections.emptyMap());
+    }
+
+    public static byte[] getBody(HttpUriRequest httpUriRequest) throws IntegrationException {
+        if (!(httpUriRequest instanceof HttpEntityEnclosingRequest)) {
+            return null;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) httpUriRequest).getEntity();
+        if (null == entity) {
+            return null;
+        }
+        try {
+            return EntityUtils.toByteArray(entity);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not read the body of %s: %s", httpUriRequest.getURI(), e.getMessage()), e);
+        }
+    }
+
+}
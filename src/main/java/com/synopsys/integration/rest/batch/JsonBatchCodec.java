@@ -0,0 +1,189 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Writes the requests into a json envelope: {"requests":[{"id":"0","method":"PUT","url":"/path?query","headers":{},"body":...}]}
+ * and reads the results from {"responses":[{"id":"0","status":200,"headers":{},"body":...}]}. The names of the two arrays can be changed.
+ * Json bodies are embedded as json, any other body as a string.
+ */
+public class JsonBatchCodec implements BatchCodec {
+    public static final String DEFAULT_REQUESTS_MEMBER = "requests";
+    public static final String DEFAULT_RESPONSES_MEMBER = "responses";
+
+    private final Gson gson;
+    private final String requestsMember;
+    private final String responsesMember;
+
+    public JsonBatchCodec(Gson gson) {
+        this(gson, DEFAULT_REQUESTS_MEMBER, DEFAULT_RESPONSES_MEMBER);
+    }
+
+    public JsonBatchCodec(Gson gson, String requestsMember, String responsesMember) {
+        this.gson = gson;
+        this.requestsMember = requestsMember;
+        this.responsesMember = responsesMember;
+    }
+
+    @Override
+    public byte[] encodeItem(int index, Request request) throws IntegrationException {
+        HttpUriRequest httpUriRequest = BatchItems.createHttpUriRequest(request);
+        byte[] body = BatchItems.getBody(httpUriRequest);
+
+        JsonObject item = new JsonObject();
+        item.addProperty("id", String.valueOf(index));
+        item.addProperty("method", httpUriRequest.getMethod());
+        item.addProperty("url", BatchItems.getRelativeUri(httpUriRequest));
+
+        JsonObject headers = new JsonObject();
+        ContentType contentType = null;
+        for (Header header : httpUriRequest.getAllHeaders()) {
+            headers.addProperty(header.getName(), header.getValue());
+        }
+        if (null != body) {
+            Header contentTypeHeader = ((HttpEntityEnclosingRequest) httpUriRequest).getEntity().getContentType();
+            contentType = null == contentTypeHeader ? null : ContentType.parse(contentTypeHeader.getValue());
+            if (null != contentType && !headers.has(HttpHeaders.CONTENT_TYPE)) {
+                headers.addProperty(HttpHeaders.CONTENT_TYPE, contentType.toString());
+            }
+        }
+        item.add("headers", headers);
+        if (null != body) {
+            item.add("body", createBodyElement(body, contentType));
+        }
+        return gson.toJson(item).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public HttpEntity createEntity(List<byte[]> encodedItems) {
+        ByteArrayOutputStream envelope = new ByteArrayOutputStream();
+        write(envelope, "{" + gson.toJson(requestsMember) + ":[");
+        for (int i = 0; i < encodedItems.size(); i++) {
+            if (i > 0) {
+                write(envelope, ",");
+            }
+            envelope.write(encodedItems.get(i), 0, encodedItems.get(i).length);
+        }
+        write(envelope, "]}");
+        return new ByteArrayEntity(envelope.toByteArray(), ContentType.APPLICATION_JSON);
+    }
+
+    @Override
+    public List<BatchItemResult> decode(Response response) throws IntegrationException {
+        try (InputStream inputStream = response.getContent(); Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return decode(new JsonParser().parse(reader));
+        } catch (IOException | JsonParseException e) {
+            throw new IntegrationException("Could not read the batch response: " + e.getMessage(), e);
+        }
+    }
+
+    public List<BatchItemResult> decode(JsonElement envelope) throws IntegrationException {
+        if (!envelope.isJsonObject() || !envelope.getAsJsonObject().has(responsesMember) || !envelope.getAsJsonObject().get(responsesMember).isJsonArray()) {
+            throw new IntegrationException(String.format("The batch response did not contain a '%s' array", responsesMember));
+        }
+        JsonArray responses = envelope.getAsJsonObject().getAsJsonArray(responsesMember);
+        List<BatchItemResult> results = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            JsonObject item = responses.get(i).getAsJsonObject();
+            int index = i;
+            boolean positionInBatch = !item.has("id");
+            if (!positionInBatch) {
+                try {
+                    index = Integer.parseInt(item.get("id").getAsString());
+                } catch (NumberFormatException e) {
+                    throw new IntegrationException(String.format("Item %d of the batch response had an unknown id: %s", i, item.get("id")), e);
+                }
+            }
+            if (!item.has("status")) {
+                throw new IntegrationException(String.format("Item %d of the batch response had no status", i));
+            }
+            Map<String, String> headers = new HashMap<>();
+            if (item.has("headers") && item.get("headers").isJsonObject()) {
+                for (Map.Entry<String, JsonElement> header : item.getAsJsonObject("headers").entrySet()) {
+                    headers.put(header.getKey(), header.getValue().getAsString());
+                }
+            }
+            JsonElement body = item.get("body");
+            byte[] content;
+            if (null == body || body.isJsonNull()) {
+                content = new byte[0];
+            } else if (body.isJsonPrimitive() && body.getAsJsonPrimitive().isString()) {
+                content = body.getAsString().getBytes(StandardCharsets.UTF_8);
+            } else {
+                content = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+            }
+            results.add(new BatchItemResult(index, positionInBatch, item.get("status").getAsInt(), "", headers, content));
+        }
+        return results;
+    }
+
+    private JsonElement createBodyElement(byte[] body, ContentType contentType) {
+        Charset charset = null == contentType || null == contentType.getCharset() ? StandardCharsets.UTF_8 : contentType.getCharset();
+        String text = new String(body, charset);
+        if (null != contentType && ContentType.APPLICATION_JSON.getMimeType().equalsIgnoreCase(contentType.getMimeType())) {
+            try {
+                return new JsonParser().parse(text);
+            } catch (JsonParseException e) {
+                // sent as a string, the server will reject it as it would have unbatched
+            }
+        }
+        return new JsonPrimitive(text);
+    }
+
+    private void write(ByteArrayOutputStream outputStream, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        outputStream.write(bytes, 0, bytes.length);
+    }
+
+}
@@ -0,0 +1,289 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicNameValuePair;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Writes each request as an application/http part of a multipart/mixed body, with a Content-ID of item-&lt;index&gt;.
+ * The parts of the response are matched back by a Content-ID of response-item-&lt;index&gt;, or by their order when the server sends none.
+ */
+public class MultipartMixedBatchCodec implements BatchCodec {
+    public static final String MULTIPART_MIXED = "multipart/mixed";
+    public static final String APPLICATION_HTTP = "application/http";
+    public static final String CONTENT_ID = "Content-ID";
+    public static final String ITEM_ID_PREFIX = "item-";
+    public static final String RESPONSE_ID_PREFIX = "response-";
+
+    private static final String CRLF = "\r\n";
+    private static final byte[] CRLF_BYTES = CRLF.getBytes(StandardCharsets.US_ASCII);
+
+    private final String boundary;
+
+    public MultipartMixedBatchCodec() {
+        this("batch_" + UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    public MultipartMixedBatchCodec(String boundary) {
+        this.boundary = boundary;
+    }
+
+    @Override
+    public byte[] encodeItem(int index, Request request) throws IntegrationException {
+        HttpUriRequest httpUriRequest = BatchItems.createHttpUriRequest(request);
+        byte[] body = BatchItems.getBody(httpUriRequest);
+
+        StringBuilder head = new StringBuilder();
+        head.append(HttpHeaders.CONTENT_TYPE).append(": ").append(APPLICATION_HTTP).append(CRLF);
+        head.append(CONTENT_ID).append(": <").append(ITEM_ID_PREFIX).append(index).append(">").append(CRLF);
+        head.append(CRLF);
+        head.append(httpUriRequest.getMethod()).append(' ').append(BatchItems.getRelativeUri(httpUriRequest)).append(" HTTP/1.1").append(CRLF);
+        for (Header header : httpUriRequest.getAllHeaders()) {
+            head.append(header.getName()).append(": ").append(header.getValue()).append(CRLF);
+        }
+        if (null != body) {
+            Header contentType = ((HttpEntityEnclosingRequest) httpUriRequest).getEntity().getContentType();
+            if (null != contentType && !httpUriRequest.containsHeader(HttpHeaders.CONTENT_TYPE)) {
+                head.append(HttpHeaders.CONTENT_TYPE).append(": ").append(contentType.getValue()).append(CRLF);
+            }
+            head.append(HttpHeaders.CONTENT_LENGTH).append(": ").append(body.length).append(CRLF);
+        }
+        head.append(CRLF);
+
+        ByteArrayOutputStream item = new ByteArrayOutputStream();
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.UTF_8);
+        item.write(headBytes, 0, headBytes.length);
+        if (null != body) {
+            item.write(body, 0, body.length);
+        }
+        return item.toByteArray();
+    }
+
+    @Override
+    public HttpEntity createEntity(List<byte[]> encodedItems) {
+        ByteArrayOutputStream multipart = new ByteArrayOutputStream();
+        byte[] delimiter = ("--" + boundary + CRLF).getBytes(StandardCharsets.US_ASCII);
+        for (byte[] encodedItem : encodedItems) {
+            multipart.write(delimiter, 0, delimiter.length);
+            multipart.write(encodedItem, 0, encodedItem.length);
+            multipart.write(CRLF_BYTES, 0, CRLF_BYTES.length);
+        }
+        byte[] closeDelimiter = ("--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        multipart.write(closeDelimiter, 0, closeDelimiter.length);
+
+        return new ByteArrayEntity(multipart.toByteArray(), ContentType.create(MULTIPART_MIXED).withParameters(new BasicNameValuePair("boundary", boundary)));
+    }
+
+    @Override
+    public List<BatchItemResult> decode(Response response) throws IntegrationException {
+        String responseBoundary = findBoundary(response.getContentType());
+        byte[] content;
+        try (InputStream inputStream = response.getContent()) {
+            content = IOUtils.toByteArray(inputStream);
+        } catch (IOException e) {
+            throw new IntegrationException("Could not read the batch response: " + e.getMessage(), e);
+        }
+        return decode(responseBoundary, content);
+    }
+
+    public List<BatchItemResult> decode(String responseBoundary, byte[] content) throws IntegrationException {
+        byte[] delimiter = ("--" + responseBoundary).getBytes(StandardCharsets.US_ASCII);
+        List<BatchItemResult> results = new ArrayList<>();
+
+        int position = indexOf(content, delimiter, 0);
+        if (position < 0) {
+            throw new IntegrationException("The batch response did not contain the boundary " + responseBoundary);
+        }
+        while (true) {
+            position += delimiter.length;
+            if (startsWith(content, position, "--")) {
+                break;
+            }
+            position = skipLine(content, position);
+            int next = indexOf(content, delimiter, position);
+            if (next < 0) {
+                throw new IntegrationException("The batch response ended before its closing boundary");
+            }
+            // the CRLF in front of a delimiter belongs to the delimiter
+            int end = next;
+            if (end >= position + 2 && content[end - 2] == '\r' && content[end - 1] == '\n') {
+                end -= 2;
+            } else if (end > position && content[end - 1] == '\n') {
+                end -= 1;
+            }
+            results.add(decodePart(content, position, end, results.size()));
+            position = next;
+        }
+        return results;
+    }
+
+    private BatchItemResult decodePart(byte[] content, int start, int end, int partIndex) throws IntegrationException {
+        HttpMessageReader reader = new HttpMessageReader(content, start, end);
+        Map<String, String> partHeaders = reader.readHeaders();
+        Integer index = parseIndex(partHeaders.get(CONTENT_ID.toLowerCase()));
+
+        String statusLine = reader.readLine();
+        String[] statusPieces = null == statusLine ? new String[0] : statusLine.split(" ", 3);
+        if (statusPieces.length < 2 || !statusPieces[0].startsWith("HTTP/")) {
+            throw new IntegrationException(String.format("Part %d of the batch response did not hold an http response: %s", partIndex, statusLine));
+        }
+        int statusCode;
+        try {
+            statusCode = Integer.parseInt(statusPieces[1]);
+        } catch (NumberFormatException e) {
+            throw new IntegrationException(String.format("Part %d of the batch response had an invalid status: %s", partIndex, statusLine), e);
+        }
+        String statusMessage = statusPieces.length > 2 ? statusPieces[2] : "";
+        Map<String, String> headers = reader.readHeaders();
+        if (null == index) {
+            return new BatchItemResult(partIndex, true, statusCode, statusMessage, headers, reader.readRemaining());
+        }
+        return new BatchItemResult(index, statusCode, statusMessage, headers, reader.readRemaining());
+    }
+
+    /**
+     * @return null when the part has no Content-ID that names an item
+     */
+    private Integer parseIndex(String contentId) {
+        if (StringUtils.isBlank(contentId)) {
+            return null;
+        }
+        String id = StringUtils.removeEnd(StringUtils.removeStart(contentId.trim(), "<"), ">");
+        id = StringUtils.removeStart(id, RESPONSE_ID_PREFIX);
+        id = StringUtils.removeStart(id, ITEM_ID_PREFIX);
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String findBoundary(String contentType) throws IntegrationException {
+        if (StringUtils.isNotBlank(contentType)) {
+            String responseBoundary = ContentType.parse(contentType).getParameter("boundary");
+            if (StringUtils.isNotBlank(responseBoundary)) {
+                return responseBoundary;
+            }
+        }
+        throw new IntegrationException("The batch response was not multipart, its content type was: " + contentType);
+    }
+
+    private static int indexOf(byte[] content, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= content.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (content[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] content, int position, String prefix) {
+        return position + prefix.length() <= content.length && prefix.equals(new String(content, position, prefix.length(), StandardCharsets.US_ASCII));
+    }
+
+    private static int skipLine(byte[] content, int position) {
+        while (position < content.length && content[position] != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, content.length);
+    }
+
+    /**
+     * Reads the start line and headers of an http message out of a part, leaving the body as bytes.
+     */
+    private static class HttpMessageReader {
+        private final byte[] content;
+        private final int end;
+        private int position;
+
+        HttpMessageReader(byte[] content, int start, int end) {
+            this.content = content;
+            this.position = start;
+            this.end = end;
+        }
+
+        String readLine() {
+            if (position >= end) {
+                return null;
+            }
+            int lineEnd = position;
+            while (lineEnd < end && content[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int textEnd = lineEnd > position && content[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            String line = new String(content, position, textEnd - position, StandardCharsets.ISO_8859_1);
+            position = Math.min(lineEnd + 1, end);
+            return line;
+        }
+
+        /**
+         * @return The headers up to the next empty line, with lower case names
+         */
+        Map<String, String> readHeaders() {
+            Map<String, String> headers = new HashMap<>();
+            String line;
+            while (null != (line = readLine()) && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+            }
+            return headers;
+        }
+
+        byte[] readRemaining() {
+            byte[] remaining = new byte[end - position];
+            System.arraycopy(content, position, remaining, 0, remaining.length);
+            position = end;
+            return remaining;
+        }
+    }
+
+}
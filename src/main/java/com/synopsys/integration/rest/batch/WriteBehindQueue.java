@@ -0,0 +1,255 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.exception.PartialSendException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Accepts fire-and-forget requests without waiting for them to be sent. Requests are grouped by endpoint, the uri without its query, and a group is
+ * handed to the {@link WriteBehindSender} once it holds maxBatchSize requests or its first request has waited maxDelayMillis.
+ * <br/>
+ * At most capacity requests are held, counting the ones being sent: {@link #offer(Request)} refuses requests beyond that and {@link #put(Request)}
+ * waits for room. With more than one sender thread, groups for the same endpoint can be sent out of order. Closing the queue sends everything it
+ * still holds and waits for the sends to finish. The queue's threads do not keep the JVM running, so requests still held when it exits without
+ * closing the queue are lost.
+ */
+public class WriteBehindQueue implements Closeable {
+    public static final int DEFAULT_CAPACITY = 10000;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+    public static final int DEFAULT_SENDER_THREADS = 1;
+
+    private final IntLogger logger;
+    private final WriteBehindSender sender;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Semaphore capacity;
+    private final int capacityLimit;
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService senderExecutor;
+
+    private final Object lock = new Object();
+    private final Map<String, List<Request>> pendingByEndpoint = new HashMap<>();
+    private boolean closed;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public WriteBehindQueue(IntLogger logger, WriteBehindSender sender) {
+        this(logger, sender, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_SENDER_THREADS);
+    }
+
+    public WriteBehindQueue(IntLogger logger, WriteBehindSender sender, int capacity, int maxBatchSize, long maxDelayMillis, int senderThreads) {
+        if (capacity < 1 || maxBatchSize < 1 || maxDelayMillis < 0 || senderThreads < 1) {
+            throw new IllegalArgumentException("The capacity, batch size and sender threads must be positive and the delay can not be negative");
+        }
+        this.logger = logger;
+        this.sender = sender;
+        this.capacityLimit = capacity;
+        this.capacity = new Semaphore(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(createDaemonThreadFactory("write-behind-flush"));
+        this.senderExecutor = Executors.newFixedThreadPool(senderThreads, createDaemonThreadFactory("write-behind-sender"));
+    }
+
+    /**
+     * @return false when the queue is full
+     * @throws IllegalStateException When the queue is closed
+     */
+    public boolean offer(Request request) {
+        checkOpen();
+        if (!capacity.tryAcquire()) {
+            return false;
+        }
+        enqueue(request);
+        return true;
+    }
+
+    /**
+     * @return false when the queue stayed full for the whole timeout
+     * @throws IllegalStateException When the queue is closed
+     */
+    public boolean offer(Request request, long timeout, TimeUnit unit) throws InterruptedException {
+        checkOpen();
+        if (!capacity.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        enqueue(request);
+        return true;
+    }
+
+    /**
+     * Waits for room in the queue.
+     * @throws IllegalStateException When the queue is closed
+     */
+    public void put(Request request) throws InterruptedException {
+        checkOpen();
+        capacity.acquire();
+        enqueue(request);
+    }
+
+    /**
+     * Hands every group to the sender now, without waiting for the sends.
+     */
+    public void flush() {
+        synchronized (lock) {
+            pendingByEndpoint.forEach(this::submit);
+            pendingByEndpoint.clear();
+        }
+    }
+
+    /**
+     * @return The requests held, both waiting and being sent
+     */
+    public int getPendingCount() {
+        return capacityLimit - capacity.availablePermits();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Stops accepting requests, sends the ones held and waits for them without a limit.
+     */
+    @Override
+    public void close() {
+        try {
+            close(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting requests and sends the ones held.
+     * @param timeout The longest to wait in all, for both a running scheduled flush and the sends
+     * @return false when sends were still running after the timeout
+     */
+    public boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            if (closed) {
+                return senderExecutor.awaitTermination(timeout, unit);
+            }
+            closed = true;
+        }
+        flushScheduler.shutdownNow();
+        flushScheduler.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        flush();
+        senderExecutor.shutdown();
+        return senderExecutor.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkOpen() {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The queue is closed");
+            }
+        }
+    }
+
+    private void enqueue(Request request) {
+        String endpoint = StringUtils.substringBefore(request.getUri(), "?");
+        synchronized (lock) {
+            if (closed) {
+                capacity.release();
+                throw new IllegalStateException("The queue is closed");
+            }
+            List<Request> group = pendingByEndpoint.computeIfAbsent(endpoint, ignored -> new ArrayList<>());
+            group.add(request);
+            if (group.size() >= maxBatchSize) {
+                pendingByEndpoint.remove(endpoint);
+                submit(endpoint, group);
+            } else if (group.size() == 1) {
+                flushScheduler.schedule(() -> flushIfPending(endpoint, group), maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flushIfPending(String endpoint, List<Request> group) {
+        synchronized (lock) {
+            // the group may have filled up and been sent already
+            if (pendingByEndpoint.get(endpoint) == group) {
+                pendingByEndpoint.remove(endpoint);
+                submit(endpoint, group);
+            }
+        }
+    }
+
+    /**
+     * Called while holding the lock, so a group taken before the queue closed is always submitted before the sender is shut down.
+     */
+    private void submit(String endpoint, List<Request> group) {
+        senderExecutor.execute(() -> {
+            try {
+                sender.send(endpoint, group);
+                sentCount.addAndGet(group.size());
+            } catch (PartialSendException e) {
+                int failed = Math.min(e.getFailedCount(), group.size());
+                sentCount.addAndGet(group.size() - failed);
+                failedCount.addAndGet(failed);
+                logger.error(String.format("Could not send %d of %d queued requests to %s: %s", failed, group.size(), endpoint, e.getMessage()));
+            } catch (IntegrationException | RuntimeException e) {
+                failedCount.addAndGet(group.size());
+                logger.error(String.format("Could not send %d queued requests to %s: %s", group.size(), endpoint, e.getMessage()));
+            } finally {
+                capacity.release(group.size());
+            }
+        });
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.batch;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.exception.PartialSendException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Sends the requests a {@link WriteBehindQueue} collected for one endpoint.
+ */
+@FunctionalInterface
+public interface WriteBehindSender {
+    /**
+     * Sends one request at a time, continuing past failures.
+     */
+    static WriteBehindSender individually(IntHttpClient intHttpClient) {
+        return (endpoint, requests) -> {
+            int failures = 0;
+            IntegrationException firstFailure = null;
+            for (Request request : requests) {
+                try (Response response = intHttpClient.execute(request)) {
+                    intHttpClient.throwExceptionForError(response);
+                } catch (IntegrationException | IOException e) {
+                    failures++;
+                    if (null == firstFailure) {
+                        firstFailure = new IntegrationException(e.getMessage(), e);
+                    }
+                }
+            }
+            if (failures > 0) {
+                throw new PartialSendException(failures, String.format("%d of %d requests to %s failed, the first with: %s", failures, requests.size(), endpoint, firstFailure.getMessage()), firstFailure);
+            }
+        };
+    }
+
+    /**
+     * Sends the requests through a batch endpoint.
+     */
+    static WriteBehindSender batched(BatchClient batchClient) {
+        return (endpoint, requests) -> {
+            List<BatchItemResult> results = batchClient.execute(requests);
+            int failures = (int) results.stream().filter(result -> !result.isStatusCodeOkay()).count();
+            if (failures > 0) {
+                throw new PartialSendException(failures, String.format("%d of %d batched requests to %s failed", failures, requests.size(), endpoint));
+            }
+        };
+    }
+
+    /**
+     * @param endpoint The uri the requests share, without its query
+     * @throws PartialSendException When only some of the requests could not be sent, so the others are counted as sent
+     * @throws IntegrationException When the requests could not be sent, the whole group is counted as failed
+     */
+    void send(String endpoint, List<Request> requests) throws IntegrationException;
+
+}
@@ -28,4 +28,13 @@ import com.synopsys.integration.rest.request.Request;
 
 public interface BodyContent {
     HttpEntity createEntity(final Request request);
+
+    /**
+     * Content that can only be produced once, such as content taken from a stream or an iterator, is not repeatable. When a request with such content
+     * has to be sent again, for authentication or a redirect, the client replays a copy it kept while sending, within its replay limit.
+     */
+    default boolean isRepeatable() {
+        return true;
+    }
+
 }
@@ -0,0 +1,63 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+import com.synopsys.integration.rest.request.Request;
+
+public class ByteArrayBodyContent implements BodyContent {
+    private final byte[] bodyContent;
+    private final ContentType contentType;
+
+    public ByteArrayBodyContent(final byte[] bodyContent) {
+        this(bodyContent, null);
+    }
+
+    /**
+     * @param contentType The content type of the body, when it should not be taken from the request, as for a multipart body with its boundary
+     */
+    public ByteArrayBodyContent(final byte[] bodyContent, final ContentType contentType) {
+        this.bodyContent = bodyContent;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public HttpEntity createEntity(final Request request) {
+        if (null != contentType) {
+            return new ByteArrayEntity(bodyContent, contentType);
+        }
+        return new ByteArrayEntity(bodyContent, ContentType.create(request.getMimeType(), request.getBodyEncoding()));
+    }
+
+    public byte[] getBodyContent() {
+        return bodyContent;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+/**
+ * A multipart part for the remaining bytes of a buffer, which may be direct or a slice of a larger buffer. The position of the buffer is not
+ * changed, so the part can be written any number of times.
+ */
+public class ByteBufferBody extends AbstractContentBody {
+    private final ByteBuffer byteBuffer;
+    private final String filename;
+
+    public ByteBufferBody(final ByteBuffer byteBuffer, final ContentType contentType, final String filename) {
+        super(contentType);
+        this.byteBuffer = byteBuffer.duplicate();
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        final ByteBuffer content = byteBuffer.duplicate();
+        if (content.hasArray()) {
+            outputStream.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        } else {
+            final WritableByteChannel channel = Channels.newChannel(outputStream);
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+        outputStream.flush();
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return byteBuffer.remaining();
+    }
+
+}
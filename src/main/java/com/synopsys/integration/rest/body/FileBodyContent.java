@@ -23,26 +23,89 @@
 package com.synopsys.integration.rest.body;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.digest.ContentDigest;
+import com.synopsys.integration.rest.digest.DigestAlgorithm;
 import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
 
 public class FileBodyContent implements BodyContent {
     private final File bodyContentFile;
+    private final DigestAlgorithm digestAlgorithm;
+    private volatile ContentDigest contentDigest;
 
     public FileBodyContent(final File bodyContentFile) {
+        this(bodyContentFile, null);
+    }
+
+    /**
+     * @param digestAlgorithm If not null, the digest of the file is computed as it is sent and is available from {@link #getContentDigest()}
+     */
+    public FileBodyContent(final File bodyContentFile, final DigestAlgorithm digestAlgorithm) {
         this.bodyContentFile = bodyContentFile;
+        this.digestAlgorithm = digestAlgorithm;
     }
 
     @Override
     public HttpEntity createEntity(final Request request) {
-        return new FileEntity(getBodyContentFile(), ContentType.create(request.getMimeType(), request.getBodyEncoding()));
+        final ContentType contentType = ContentType.create(request.getMimeType(), request.getBodyEncoding());
+        if (null == digestAlgorithm) {
+            return new FileRegionEntity(getBodyContentFile().toPath(), 0, getBodyContentFile().length(), contentType);
+        }
+        return new DigestingFileEntity(getBodyContentFile(), contentType);
     }
 
     public File getBodyContentFile() {
         return bodyContentFile;
     }
+
+    public Optional<DigestAlgorithm> getDigestAlgorithm() {
+        return Optional.ofNullable(digestAlgorithm);
+    }
+
+    /**
+     * @return The digest of the file from the last time it was completely sent
+     */
+    public Optional<ContentDigest> getContentDigest() {
+        return Optional.ofNullable(contentDigest);
+    }
+
+    /**
+     * Checks the digest of the file from the last time it was completely sent against what the server answered, see
+     * {@link ContentDigest#verifyUpload(Response, boolean)}.
+     * @return true if there was a value to check against, false if nothing was answered
+     * @throws IntegrationException if the values do not match, or the digest of the file was not computed
+     */
+    public boolean verifyUpload(final Response response, final boolean trustETag) throws IntegrationException {
+        final ContentDigest sentDigest = contentDigest;
+        if (null == sentDigest) {
+            throw new IntegrationException(String.format("No digest was computed for %s.", bodyContentFile));
+        }
+        return sentDigest.verifyUpload(response, trustETag);
+    }
+
+    private class DigestingFileEntity extends FileEntity {
+        public DigestingFileEntity(final File file, final ContentType contentType) {
+            super(file, contentType);
+        }
+
+        @Override
+        public void writeTo(final OutputStream outputStream) throws IOException {
+            final MessageDigest messageDigest = digestAlgorithm.createMessageDigest();
+            super.writeTo(new DigestOutputStream(outputStream, messageDigest));
+            contentDigest = ContentDigest.of(digestAlgorithm, messageDigest);
+        }
+
+    }
+
 }
@@ -0,0 +1,60 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.nio.file.Path;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.synopsys.integration.rest.request.Request;
+
+public class FileRegionBodyContent implements BodyContent {
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    public FileRegionBodyContent(final Path path, final long offset, final long length) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public HttpEntity createEntity(final Request request) {
+        return new FileRegionEntity(path, offset, length, ContentType.create(request.getMimeType(), request.getBodyEncoding()));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * An entity for a byte range of a file. It opens the file for every write, so it is repeatable and several regions of the same file can be sent
+ * at the same time.
+ */
+public class FileRegionEntity extends AbstractHttpEntity {
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    public FileRegionEntity(Path path, long offset, long length, ContentType contentType) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        if (null != contentType) {
+            setContentType(contentType.toString());
+        }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        fileChannel.position(offset);
+        return new BoundedInputStream(Channels.newInputStream(fileChannel), length);
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        FileTransfer.writeRegion(path, offset, length, outputStream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a byte range of a file to an OutputStream through one 64 KiB buffer, reading with positional reads so that several regions of the same
+ * file can be sent at the same time. This is an ordinary buffered copy, not a zero-copy transfer: the connection is only reachable as an
+ * OutputStream, and FileChannel.transferTo to a stream would copy through the JDK's own smaller buffers instead.
+ */
+class FileTransfer {
+    private FileTransfer() {
+    }
+
+    public static void writeRegion(Path path, long offset, long length, OutputStream outputStream) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(FileRegionEntity.BUFFER_SIZE, Math.max(1L, length)));
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = fileChannel.read(buffer, position);
+                if (-1 == read) {
+                    throw new IOException(String.format("%s ended at byte %d before the region ending at byte %d.", path, position, end));
+                }
+                outputStream.write(buffer.array(), 0, read);
+                position += read;
+            }
+        }
+        outputStream.flush();
+    }
+
+}
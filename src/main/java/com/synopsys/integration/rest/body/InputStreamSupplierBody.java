@@ -0,0 +1,79 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+/**
+ * A multipart part whose content is read from a new stream, taken from the supplier, every time the part is written. When the length is known in
+ * advance the multipart body can declare its Content-Length and be sent again.
+ */
+public class InputStreamSupplierBody extends AbstractContentBody {
+    public static final long UNKNOWN_LENGTH = -1L;
+
+    private final Supplier<? extends InputStream> inputStreamSupplier;
+    private final long contentLength;
+    private final String filename;
+
+    public InputStreamSupplierBody(final Supplier<? extends InputStream> inputStreamSupplier, final long contentLength, final ContentType contentType, final String filename) {
+        super(contentType);
+        this.inputStreamSupplier = inputStreamSupplier;
+        this.contentLength = contentLength;
+        this.filename = filename;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        try (InputStream inputStream = inputStreamSupplier.get()) {
+            final long copied = IOUtils.copyLarge(inputStream, outputStream);
+            if (UNKNOWN_LENGTH != contentLength && copied != contentLength) {
+                throw new IOException(String.format("The part %s declared %d bytes but its stream had %d.", filename, contentLength, copied));
+            }
+        }
+        outputStream.flush();
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+}
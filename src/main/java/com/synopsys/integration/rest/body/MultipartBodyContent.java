@@ -48,7 +48,7 @@ public class MultipartBodyContent implements BodyContent {
     public HttpEntity createEntity(final Request request) {
         final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
         for (final Entry<String, File> entry : getBodyContentFileMap().entrySet()) {
-            builder.addBinaryBody(entry.getKey(), entry.getValue());
+            builder.addPart(entry.getKey(), new FileChannelBody(entry.getValue()));
         }
         for (final Entry<String, String> entry : getBodyContentStringMap().entrySet()) {
             addTextBody(builder, entry.getKey(), entry.getValue());
@@ -65,12 +65,16 @@ public class MultipartBodyContent implements BodyContent {
     }
 
     private void addTextBody(final MultipartEntityBuilder builder, final String name, final String value) {
+        builder.addPart(createTextPart(name, value));
+    }
+
+    static FormBodyPart createTextPart(final String name, final String value) {
         // should be 'builder.addTextBody(entry.getKey(), entry.getValue());'
         // BUT Black Duck fails to parse form pieces with the header Content-Type
         // So we must remove that header. For more info see https://jira.dc1.lan/browse/IDETECT-514
         final StringBody body = new StringBody(value, ContentType.DEFAULT_TEXT);
         final FormBodyPart part = FormBodyPartBuilder.create(name, body).build();
         part.getHeader().removeFields("Content-Type");
-        builder.addPart(part);
+        return part;
     }
 }
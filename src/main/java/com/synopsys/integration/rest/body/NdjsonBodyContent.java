@@ -0,0 +1,90 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Sends objects as line delimited json (application/x-ndjson), serializing each object straight to the connection as it is taken from the iterator.
+ * Created from an iterator, the body can only be sent once; created from a supplier of iterators, a new iterator is requested for every send.
+ */
+public class NdjsonBodyContent implements BodyContent {
+    private final Gson gson;
+    private final Supplier<? extends Iterator<?>> iteratorSupplier;
+    private final boolean repeatable;
+
+    public NdjsonBodyContent(Gson gson, Iterator<?> iterator) {
+        this(gson, () -> iterator, false);
+    }
+
+    public NdjsonBodyContent(Gson gson, Supplier<? extends Iterator<?>> iteratorSupplier) {
+        this(gson, iteratorSupplier, true);
+    }
+
+    private NdjsonBodyContent(Gson gson, Supplier<? extends Iterator<?>> iteratorSupplier, boolean repeatable) {
+        this.gson = gson;
+        this.iteratorSupplier = iteratorSupplier;
+        this.repeatable = repeatable;
+    }
+
+    @Override
+    public HttpEntity createEntity(final Request request) {
+        ContentType contentType = ContentType.create(RestConstants.NDJSON_MIME_TYPE, null == request.getBodyEncoding() ? StandardCharsets.UTF_8 : request.getBodyEncoding());
+        return new StreamingEntity(outputStream -> writeLines(outputStream, contentType), contentType, repeatable);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+
+    private void writeLines(OutputStream outputStream, ContentType contentType) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, contentType.getCharset()));
+        Iterator<?> iterator = iteratorSupplier.get();
+        while (iterator.hasNext()) {
+            // a JsonWriter accepts a single top level value, and without an indent it keeps each object on one line
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            Object line = iterator.next();
+            gson.toJson(line, null == line ? Object.class : line.getClass(), jsonWriter);
+            jsonWriter.flush();
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+}
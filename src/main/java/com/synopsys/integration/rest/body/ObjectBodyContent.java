@@ -0,0 +1,111 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Sends an object as json, serializing it with Gson straight to the connection while the request is sent, so the json is never built as a String.
+ * The object is serialized again for every send, so the body can be repeated for authentication retries.
+ * <p>
+ * Created from an iterator or a supplier of iterators, the objects are sent as a json array. As with {@link NdjsonBodyContent}, a body created from
+ * an iterator can only be sent once.
+ */
+public class ObjectBodyContent implements BodyContent {
+    private final Gson gson;
+    private final JsonContentWriter jsonContentWriter;
+    private final boolean repeatable;
+
+    public ObjectBodyContent(Gson gson, Object object) {
+        this(gson, object, null == object ? Object.class : object.getClass());
+    }
+
+    /**
+     * @param type The type to serialize the object as, when its generic type matters
+     */
+    public ObjectBodyContent(Gson gson, Object object, Type type) {
+        this(gson, jsonWriter -> gson.toJson(object, type, jsonWriter), true);
+    }
+
+    public ObjectBodyContent(Gson gson, Iterator<?> iterator) {
+        this(gson, jsonWriter -> writeArray(gson, iterator, jsonWriter), false);
+    }
+
+    public ObjectBodyContent(Gson gson, Supplier<? extends Iterator<?>> iteratorSupplier) {
+        this(gson, jsonWriter -> writeArray(gson, iteratorSupplier.get(), jsonWriter), true);
+    }
+
+    private ObjectBodyContent(Gson gson, JsonContentWriter jsonContentWriter, boolean repeatable) {
+        this.gson = gson;
+        this.jsonContentWriter = jsonContentWriter;
+        this.repeatable = repeatable;
+    }
+
+    private static void writeArray(Gson gson, Iterator<?> iterator, JsonWriter jsonWriter) throws IOException {
+        jsonWriter.beginArray();
+        while (iterator.hasNext()) {
+            Object element = iterator.next();
+            gson.toJson(element, null == element ? Object.class : element.getClass(), jsonWriter);
+        }
+        jsonWriter.endArray();
+    }
+
+    @Override
+    public HttpEntity createEntity(final Request request) {
+        ContentType contentType = ContentType.create(request.getMimeType(), null == request.getBodyEncoding() ? StandardCharsets.UTF_8 : request.getBodyEncoding());
+        return new StreamingEntity(outputStream -> writeJson(outputStream, contentType), contentType, repeatable);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+
+    private void writeJson(OutputStream outputStream, ContentType contentType) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, contentType.getCharset()));
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonContentWriter.write(jsonWriter);
+        jsonWriter.flush();
+    }
+
+    @FunctionalInterface
+    private interface JsonContentWriter {
+        void write(JsonWriter jsonWriter) throws IOException;
+    }
+
+}
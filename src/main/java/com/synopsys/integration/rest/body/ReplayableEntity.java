@@ -0,0 +1,165 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Makes a non-repeatable entity repeatable by keeping a copy of the content while it is first sent. The copy is kept in memory up to the memory
+ * threshold and in a temporary file beyond it. Content longer than the limit, or content whose first send failed part way, is not kept, and the
+ * entity is then no longer repeatable.
+ */
+public class ReplayableEntity extends HttpEntityWrapper {
+    private final int memoryThresholdBytes;
+    private final long limitBytes;
+
+    private boolean written;
+    private boolean captured;
+    private boolean overflowed;
+    private boolean released;
+    private DeferredFileOutputStream replayBuffer;
+
+    public ReplayableEntity(HttpEntity wrappedEntity, int memoryThresholdBytes, long limitBytes) {
+        super(wrappedEntity);
+        this.memoryThresholdBytes = memoryThresholdBytes;
+        this.limitBytes = limitBytes;
+    }
+
+    @Override
+    public synchronized boolean isRepeatable() {
+        return !written || (captured && !overflowed && !released);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !isRepeatable();
+    }
+
+    @Override
+    public synchronized InputStream getContent() throws IOException {
+        if (written && isRepeatable()) {
+            return openReplay();
+        }
+        return super.getContent();
+    }
+
+    @Override
+    public synchronized void writeTo(OutputStream outputStream) throws IOException {
+        if (!written) {
+            written = true;
+            replayBuffer = new DeferredFileOutputStream(memoryThresholdBytes, "replay", ".body", null);
+            try {
+                wrappedEntity.writeTo(new CopyingOutputStream(outputStream));
+                captured = true;
+            } finally {
+                replayBuffer.close();
+            }
+        } else if (isRepeatable()) {
+            try (InputStream inputStream = openReplay()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while (-1 != (read = inputStream.read(buffer))) {
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+            outputStream.flush();
+        } else {
+            throw new IllegalStateException(String.format("The content was not completely kept within the replay limit of %d bytes, so it can not be sent again.", limitBytes));
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if one was needed. The entity can not be sent again afterwards.
+     */
+    public synchronized void release() {
+        released = true;
+        deleteReplayFile();
+    }
+
+    /**
+     * @return false until the content has started to be sent, for example while waiting for 100 Continue
+     */
+    public synchronized boolean isWritten() {
+        return written;
+    }
+
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    private InputStream openReplay() throws IOException {
+        if (replayBuffer.isInMemory()) {
+            return new ByteArrayInputStream(replayBuffer.getData());
+        }
+        return Files.newInputStream(replayBuffer.getFile().toPath());
+    }
+
+    private void deleteReplayFile() {
+        if (null != replayBuffer && null != replayBuffer.getFile()) {
+            replayBuffer.getFile().delete();
+        }
+    }
+
+    private class CopyingOutputStream extends OutputStream {
+        private final OutputStream outputStream;
+
+        public CopyingOutputStream(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            outputStream.write(b, off, len);
+            if (overflowed) {
+                return;
+            }
+            if (replayBuffer.getByteCount() + len > limitBytes) {
+                overflowed = true;
+                replayBuffer.close();
+                deleteReplayFile();
+                return;
+            }
+            replayBuffer.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+    }
+
+}
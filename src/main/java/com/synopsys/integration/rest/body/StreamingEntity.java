@@ -0,0 +1,90 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * An entity whose content is produced while the request is being sent, so it never has to be held in memory. The content is sent chunked.
+ * A repeatable entity invokes its writer again for every send; a non-repeatable entity can only be written once.
+ */
+public class StreamingEntity extends AbstractHttpEntity {
+    private final ContentWriter contentWriter;
+    private final boolean repeatable;
+    private boolean written;
+
+    public StreamingEntity(ContentWriter contentWriter, ContentType contentType, boolean repeatable) {
+        this.contentWriter = contentWriter;
+        this.repeatable = repeatable;
+        setContentType(contentType.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Only for consumers that cannot stream; the whole content is buffered in memory.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeTo(outputStream);
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+
+    @Override
+    public synchronized void writeTo(OutputStream outputStream) throws IOException {
+        if (written && !repeatable) {
+            throw new IllegalStateException("The content of this entity has already been written and it can not be repeated.");
+        }
+        written = true;
+        contentWriter.writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !repeatable && !written;
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.body;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ByteArrayBody;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.FileBody;
+import org.apache.http.entity.mime.content.StringBody;
+
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * A multipart body whose parts are written from their sources as the request is sent: files, suppliers of streams and byte buffers, as well as text.
+ * When every part knows its length the body has a Content-Length; otherwise it is sent chunked, once. It can only be sent again when it has a
+ * Content-Length and every part can be written again, which a part from {@link Part#contentBody(String, ContentBody)} can not unless it is a file,
+ * text or byte array body.
+ */
+public class StreamingMultipartBodyContent implements BodyContent {
+    private final List<Part> parts;
+
+    public StreamingMultipartBodyContent(final List<Part> parts) {
+        this.parts = Collections.unmodifiableList(new ArrayList<>(parts));
+    }
+
+    @Override
+    public HttpEntity createEntity(final Request request) {
+        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        for (final Part part : parts) {
+            if (null != part.text) {
+                builder.addPart(MultipartBodyContent.createTextPart(part.name, part.text));
+            } else {
+                builder.addPart(part.name, part.contentBody);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return -1 != getPartsLength() && parts.stream().allMatch(Part::isRepeatable);
+    }
+
+    /**
+     * @return The total length of the part contents, without the multipart headers and boundaries, or -1 if any part does not know its length
+     */
+    public long getPartsLength() {
+        long partsLength = 0L;
+        for (final Part part : parts) {
+            final long contentLength = part.getContentLength();
+            if (0 > contentLength) {
+                return -1L;
+            }
+            partsLength += contentLength;
+        }
+        return partsLength;
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    public static class Part {
+        private final String name;
+        private final ContentBody contentBody;
+        private final String text;
+        private final boolean repeatable;
+
+        private Part(final String name, final ContentBody contentBody, final String text, final boolean repeatable) {
+            this.name = name;
+            this.contentBody = contentBody;
+            this.text = text;
+            this.repeatable = repeatable;
+        }
+
+        /**
+         * A text part, sent without a Content-Type header as {@link MultipartBodyContent} does.
+         */
+        public static Part text(final String name, final String value) {
+            return new Part(name, null, value, true);
+        }
+
+        public static Part path(final String name, final Path path) {
+            return new Part(name, new FileChannelBody(path.toFile()), null, true);
+        }
+
+        /**
+         * @param contentLength The number of bytes every supplied stream will have, or {@link InputStreamSupplierBody#UNKNOWN_LENGTH}
+         */
+        public static Part inputStream(final String name, final String filename, final Supplier<? extends InputStream> inputStreamSupplier, final long contentLength) {
+            return new Part(name, new InputStreamSupplierBody(inputStreamSupplier, contentLength, ContentType.DEFAULT_BINARY, filename), null, true);
+        }
+
+        public static Part byteBuffer(final String name, final String filename, final ByteBuffer byteBuffer) {
+            return new Part(name, new ByteBufferBody(byteBuffer, ContentType.DEFAULT_BINARY, filename), null, true);
+        }
+
+        /**
+         * The part is only treated as repeatable if the body is a {@link FileBody}, {@link StringBody} or {@link ByteArrayBody}, since other bodies,
+         * such as an {@link org.apache.http.entity.mime.content.InputStreamBody}, may only be written once.
+         */
+        public static Part contentBody(final String name, final ContentBody contentBody) {
+            final boolean repeatable = contentBody instanceof FileBody || contentBody instanceof StringBody || contentBody instanceof ByteArrayBody;
+            return new Part(name, contentBody, null, repeatable);
+        }
+
+        /**
+         * @param repeatable Whether the body writes the same content every time it is written
+         */
+        public static Part contentBody(final String name, final ContentBody contentBody, final boolean repeatable) {
+            return new Part(name, contentBody, null, repeatable);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRepeatable() {
+            return repeatable;
+        }
+
+        public long getContentLength() {
+            if (null != text) {
+                return text.getBytes(ContentType.DEFAULT_TEXT.getCharset()).length;
+            }
+            return contentBody.getContentLength();
+        }
+
+    }
+
+}
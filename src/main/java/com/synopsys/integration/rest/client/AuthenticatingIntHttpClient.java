@@ -24,6 +24,7 @@ package com.synopsys.integration.rest.client;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
@@ -33,6 +34,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.ReplayableEntity;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 import com.synopsys.integration.rest.request.Response;
 
@@ -62,7 +64,13 @@ public abstract class AuthenticatingIntHttpClient extends IntHttpClient {
 
     @Override
     public Response execute(HttpUriRequest request) throws IntegrationException {
-        return retryExecute(request, 0);
+        applyCompressionPolicy(request);
+        Optional<ReplayableEntity> replayableEntity = prepareReplay(request);
+        try {
+            return retryExecute(request, 0);
+        } finally {
+            replayableEntity.ifPresent(ReplayableEntity::release);
+        }
     }
 
     private Response retryExecute(HttpUriRequest request, int retryCount) throws IntegrationException {
@@ -73,11 +81,15 @@ public abstract class AuthenticatingIntHttpClient extends IntHttpClient {
 
         boolean notOkay = isUnauthorizedOrForbidden(response);
 
-        if (notOkay && retryCount < 2) {
+        // a kept body stays repeatable until it is written, so a request rejected before its body was sent can be sent again whatever its size
+        if (notOkay && retryCount < 2 && !isRepeatable(request)) {
+            logger.debug(String.format("The body of %s was too large to keep, so the request will not be sent again after authenticating.", request.getURI()));
+            throwExceptionForError(response);
+        } else if (notOkay && retryCount < 2) {
             authenticateRequest(request);
             return retryExecute(request, retryCount + 1);
         } else if (notOkay) {
-            response.throwExceptionForError();
+            throwExceptionForError(response);
         }
 
         return response;
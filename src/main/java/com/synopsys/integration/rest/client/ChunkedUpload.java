@@ -0,0 +1,235 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHeaders;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpStatusClassification;
+import com.synopsys.integration.rest.body.FileRegionBodyContent;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Uploads a file as fixed-size chunks, each sent to the uri of the request with a Content-Range header (bytes start-end/total). Chunks are sent in
+ * parallel and a chunk that fails with an error worth retrying is retried on its own. Chunks that still fail are reported in the {@link Result}, which can be passed back to
+ * {@link #upload(Request, Path, Result)} to send only what is missing.
+ * <p>
+ * An empty file is sent as a single empty chunk with a Content-Range of bytes &#42;/0.
+ */
+public class ChunkedUpload {
+    public static final long DEFAULT_CHUNK_SIZE = 8L * 1024L * 1024L;
+    public static final int DEFAULT_PARALLEL_CHUNKS = 4;
+    public static final int DEFAULT_MAXIMUM_CHUNK_ATTEMPTS = 3;
+    public static final int RESUME_INCOMPLETE_308 = 308;
+
+    private final IntHttpClient intHttpClient;
+    private final long chunkSize;
+    private final int parallelChunks;
+    private final int maximumChunkAttempts;
+    private final ProgressListener progressListener;
+
+    public ChunkedUpload(IntHttpClient intHttpClient) {
+        this(intHttpClient, DEFAULT_CHUNK_SIZE, DEFAULT_PARALLEL_CHUNKS, DEFAULT_MAXIMUM_CHUNK_ATTEMPTS, null);
+    }
+
+    /**
+     * @param parallelChunks   The number of chunks sent at once. Every request builds its own client, but with a shared connection manager set on the
+     *                         HttpClientBuilder, more chunks than its connections per route (2 by default) only wait for a connection.
+     * @param progressListener If not null, it is called from the uploading threads after every chunk that is accepted
+     */
+    public ChunkedUpload(IntHttpClient intHttpClient, long chunkSize, int parallelChunks, int maximumChunkAttempts, ProgressListener progressListener) {
+        if (0 >= chunkSize || 0 >= parallelChunks || 0 >= maximumChunkAttempts) {
+            throw new IllegalArgumentException("The chunk size, parallel chunks and maximum chunk attempts must be greater than 0.");
+        }
+        this.intHttpClient = intHttpClient;
+        this.chunkSize = chunkSize;
+        this.parallelChunks = parallelChunks;
+        this.maximumChunkAttempts = maximumChunkAttempts;
+        this.progressListener = progressListener;
+    }
+
+    public Result upload(Request request, Path path) throws IntegrationException {
+        return upload(request, path, null);
+    }
+
+    /**
+     * @param previousResult If not null, the chunks it completed are not sent again
+     */
+    public Result upload(Request request, Path path, Result previousResult) throws IntegrationException {
+        long length;
+        try {
+            length = Files.size(path);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not read the size of %s: %s", path, e.getMessage()), e);
+        }
+        if (null != previousResult && (previousResult.getLength() != length || previousResult.getChunkSize() != chunkSize)) {
+            throw new IntegrationException(String.format("The previous upload of %s was for a different length or chunk size.", path));
+        }
+
+        Set<Long> completedOffsets = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        if (null != previousResult) {
+            completedOffsets.addAll(previousResult.getCompletedOffsets());
+        }
+        AtomicLong bytesUploaded = new AtomicLong(completedOffsets.stream().mapToLong(offset -> Math.min(chunkSize, length - offset)).sum());
+        Map<Long, IntegrationException> failures = new ConcurrentHashMap<>();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelChunks, createDaemonThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            // an empty file still needs its one empty chunk
+            for (long offset = 0; offset < length || (0 == offset && 0 == length); offset += chunkSize) {
+                if (completedOffsets.contains(offset)) {
+                    continue;
+                }
+                long chunkOffset = offset;
+                long chunkLength = Math.min(chunkSize, length - offset);
+                futures.add(executorService.submit(() -> {
+                    try {
+                        uploadChunk(request, path, chunkOffset, chunkLength, length);
+                        completedOffsets.add(chunkOffset);
+                        long uploaded = bytesUploaded.addAndGet(chunkLength);
+                        if (null != progressListener) {
+                            progressListener.chunkUploaded(chunkOffset, chunkLength, uploaded, length);
+                        }
+                    } catch (IntegrationException e) {
+                        failures.put(chunkOffset, e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException(String.format("The upload of %s was interrupted.", path), e);
+        } catch (ExecutionException e) {
+            throw new IntegrationException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return new Result(length, chunkSize, new TreeSet<>(completedOffsets), new TreeMap<>(failures));
+    }
+
+    private void uploadChunk(Request request, Path path, long offset, long chunkLength, long length) throws IntegrationException {
+        String contentRange = 0 == chunkLength ? String.format("bytes */%d", length) : String.format("bytes %d-%d/%d", offset, offset + chunkLength - 1, length);
+        Request chunkRequest = new Request.Builder(request)
+                                   .addAdditionalHeader(HttpHeaders.CONTENT_RANGE, contentRange)
+                                   .bodyContent(new FileRegionBodyContent(path, offset, chunkLength))
+                                   .build();
+        IntegrationException lastException = null;
+        for (int attempt = 1; attempt <= maximumChunkAttempts; attempt++) {
+            boolean retryable = true;
+            try (Response response = intHttpClient.execute(chunkRequest)) {
+                if (!Integer.valueOf(RESUME_INCOMPLETE_308).equals(response.getStatusCode())) {
+                    // a rejected chunk, such as a 400, 404, 409 or 413, is rejected again on another attempt
+                    retryable = HttpStatusClassification.RETRYABLE == response.getStatusClassification();
+                    intHttpClient.throwExceptionForError(response);
+                }
+                return;
+            } catch (IntegrationException e) {
+                lastException = e;
+            } catch (IOException e) {
+                lastException = new IntegrationException(e.getMessage(), e);
+            }
+            if (!retryable) {
+                throw lastException;
+            }
+            intHttpClient.getLogger().debug(String.format("Attempt %d to upload %s of %s failed: %s", attempt, contentRange, path, lastException.getMessage()));
+        }
+        throw lastException;
+    }
+
+    private static ThreadFactory createDaemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "chunked-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void chunkUploaded(long chunkOffset, long chunkLength, long bytesUploaded, long totalBytes);
+    }
+
+    public static class Result {
+        private final long length;
+        private final long chunkSize;
+        private final Set<Long> completedOffsets;
+        private final Map<Long, IntegrationException> failures;
+
+        public Result(long length, long chunkSize, Set<Long> completedOffsets, Map<Long, IntegrationException> failures) {
+            this.length = length;
+            this.chunkSize = chunkSize;
+            this.completedOffsets = Collections.unmodifiableSet(completedOffsets);
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        public boolean isComplete() {
+            return failures.isEmpty();
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getChunkSize() {
+            return chunkSize;
+        }
+
+        public Set<Long> getCompletedOffsets() {
+            return completedOffsets;
+        }
+
+        /**
+         * @return The last exception of every chunk that could not be sent, by the offset of the chunk
+         */
+        public Map<Long, IntegrationException> getFailures() {
+            return failures;
+        }
+
+    }
+
+}
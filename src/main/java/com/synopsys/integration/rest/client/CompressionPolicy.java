@@ -0,0 +1,99 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Decides which request bodies are sent with Content-Encoding: gzip. A body is compressed while it is written, never buffered, when the uri starts
+ * with one of the configured prefixes and the body is at least the minimum size or its size is not known in advance.
+ * <p>
+ * Responses are decompressed as they are read by the http client, which advertises gzip and deflate by default. When compressed responses are not
+ * accepted, requests ask for the identity encoding instead.
+ */
+public class CompressionPolicy {
+    public static final long DEFAULT_MINIMUM_BYTES = 8L * 1024L;
+    public static final String IDENTITY_ENCODING = "identity";
+
+    private final long minimumBytes;
+    private final List<String> uriPrefixes;
+    private final boolean acceptCompressedResponses;
+
+    public CompressionPolicy(Collection<String> uriPrefixes) {
+        this(DEFAULT_MINIMUM_BYTES, uriPrefixes, true);
+    }
+
+    public CompressionPolicy(long minimumBytes, Collection<String> uriPrefixes, boolean acceptCompressedResponses) {
+        this.minimumBytes = minimumBytes;
+        this.uriPrefixes = Collections.unmodifiableList(new ArrayList<>(uriPrefixes));
+        this.acceptCompressedResponses = acceptCompressedResponses;
+    }
+
+    public boolean shouldCompress(HttpUriRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return false;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (null == entity || null != entity.getContentEncoding() || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        long contentLength = entity.getContentLength();
+        if (0 <= contentLength && contentLength < minimumBytes) {
+            return false;
+        }
+        String uri = request.getURI().toString();
+        return uriPrefixes.stream().anyMatch(uri::startsWith);
+    }
+
+    public void apply(HttpUriRequest request) {
+        if (shouldCompress(request)) {
+            HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+            entityEnclosingRequest.setEntity(new GzipCompressingEntity(entityEnclosingRequest.getEntity()));
+        }
+        if (!acceptCompressedResponses && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, IDENTITY_ENCODING);
+        }
+    }
+
+    public long getMinimumBytes() {
+        return minimumBytes;
+    }
+
+    public List<String> getUriPrefixes() {
+        return uriPrefixes;
+    }
+
+    public boolean isAcceptCompressedResponses() {
+        return acceptCompressedResponses;
+    }
+
+}
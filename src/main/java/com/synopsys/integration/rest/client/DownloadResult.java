@@ -0,0 +1,83 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.client;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.synopsys.integration.rest.digest.ContentDigest;
+
+public class DownloadResult {
+    private final Path path;
+    private final int httpStatusCode;
+    private final long resumedFrom;
+    private final long bytesWritten;
+    private final ContentDigest contentDigest;
+
+    public DownloadResult(Path path, int httpStatusCode, long resumedFrom, long bytesWritten) {
+        this(path, httpStatusCode, resumedFrom, bytesWritten, null);
+    }
+
+    public DownloadResult(Path path, int httpStatusCode, long resumedFrom, long bytesWritten, ContentDigest contentDigest) {
+        this.path = path;
+        this.httpStatusCode = httpStatusCode;
+        this.resumedFrom = resumedFrom;
+        this.bytesWritten = bytesWritten;
+        this.contentDigest = contentDigest;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getHttpStatusCode() {
+        return httpStatusCode;
+    }
+
+    /**
+     * @return The length of the partial file the download continued from, 0 if it started over
+     */
+    public long getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getLength() {
+        return resumedFrom + bytesWritten;
+    }
+
+    public boolean isResumed() {
+        return resumedFrom > 0;
+    }
+
+    /**
+     * @return The digest of the whole file, when one was requested
+     */
+    public Optional<ContentDigest> getContentDigest() {
+        return Optional.ofNullable(contentDigest);
+    }
+
+}
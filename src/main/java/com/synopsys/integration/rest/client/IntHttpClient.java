@@ -23,19 +23,35 @@
 package com.synopsys.integration.rest.client;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
@@ -43,27 +59,34 @@ import org.apache.http.auth.NTCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
 
-import com.jayway.jsonpath.JsonPath;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.ReplayableEntity;
+import com.synopsys.integration.rest.digest.ContentDigest;
+import com.synopsys.integration.rest.digest.DigestAlgorithm;
 import com.synopsys.integration.rest.exception.ApiException;
 import com.synopsys.integration.rest.exception.IntegrationRestException;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.request.Response;
 import com.synopsys.integration.rest.response.ErrorResponse;
+import com.synopsys.integration.rest.response.ErrorResponseDecoder;
 
 /**
  * A basic, extendable http client.
@@ -71,6 +94,11 @@ import com.synopsys.integration.rest.response.ErrorResponse;
 public class IntHttpClient {
     public static final String ERROR_MSG_PROXY_INFO_NULL = "A IntHttpClient's proxy information cannot be null.";
     public static final int DEFAULT_TIMEOUT = 120;
+    public static final int DEFAULT_MAX_ERROR_CONTENT_BYTES = 64 * 1024;
+    public static final int DEFAULT_REPLAY_MEMORY_THRESHOLD_BYTES = 64 * 1024;
+    public static final long DEFAULT_REPLAY_LIMIT_BYTES = 32L * 1024L * 1024L;
+    public static final long DEFAULT_EXPECT_CONTINUE_THRESHOLD_BYTES = 1024L * 1024L;
+    public static final String VALIDATOR_FILE_SUFFIX = ".validator";
 
     protected final IntLogger logger;
     private final ProxyInfo proxyInfo;
@@ -82,6 +110,14 @@ public class IntHttpClient {
     private final HttpClientBuilder clientBuilder;
     private final RequestConfig.Builder defaultRequestConfigBuilder;
     private final Map<String, String> commonRequestHeaders;
+    private final ErrorResponseDecoder errorResponseDecoder = new ErrorResponseDecoder();
+
+    private int maxErrorContentBytes = DEFAULT_MAX_ERROR_CONTENT_BYTES;
+    private Set<Integer> stacklessErrorStatusCodes = Collections.emptySet();
+    private CompressionPolicy compressionPolicy;
+    private int replayMemoryThresholdBytes = DEFAULT_REPLAY_MEMORY_THRESHOLD_BYTES;
+    private long replayLimitBytes = DEFAULT_REPLAY_LIMIT_BYTES;
+    private long expectContinueThresholdBytes = 0L;
 
     public IntHttpClient(IntLogger logger, int timeoutInSeconds, boolean alwaysTrustServerCertificate, ProxyInfo proxyInfo) {
         this(logger, timeoutInSeconds, alwaysTrustServerCertificate, proxyInfo, new BasicCredentialsProvider(), HttpClientBuilder.create(), RequestConfig.custom(), new HashMap<>());
@@ -152,15 +188,22 @@ public class IntHttpClient {
 
     public Response execute(Request request) throws IntegrationException {
         HttpUriRequest httpUriRequest = request.createHttpUriRequest(commonRequestHeaders);
+        if (null != request.getBodyContent() && !request.getBodyContent().isRepeatable()) {
+            markNotRepeatable(httpUriRequest);
+        }
         return execute(httpUriRequest);
     }
 
     public Response execute(HttpUriRequest request) throws IntegrationException {
         long start = System.currentTimeMillis();
         logger.trace("starting request: " + request.getURI().toString());
+        applyCompressionPolicy(request);
+        Optional<ReplayableEntity> replayableEntity = prepareReplay(request);
+        prepareExpectContinue(request);
         try {
             return handleClientExecution(request);
         } finally {
+            replayableEntity.ifPresent(ReplayableEntity::release);
             long end = System.currentTimeMillis();
             logger.trace(String.format("completed request: %s (%d ms)", request.getURI().toString(), end - start));
         }
@@ -186,6 +229,278 @@ public class IntHttpClient {
         return Optional.of(execute(getRequest.createHttpUriRequest(commonRequestHeaders)));
     }
 
+    /**
+     * Downloads the content into the file. When the file already holds the start of the content, only the rest is requested with a Range header. A
+     * server that ignores the range answers 200 and the file is rewritten from the beginning.
+     * <p>
+     * The range is made conditional with an If-Range header, so content that changed since the partial file was written is sent in full instead of
+     * being appended to it. The validator is the strong ETag or the Last-Modified of the response that started the file, kept in a sibling file with
+     * the {@link #VALIDATOR_FILE_SUFFIX} until the download completes, or else the last modified time of the file, which is set to the Last-Modified of
+     * a completed download.
+     */
+    public DownloadResult download(Request request, Path path) throws IntegrationException {
+        return download(request, path, null, null);
+    }
+
+    /**
+     * Downloads as {@link #download(Request, Path)} does while computing the digest of the content as it is written. The digest is checked against
+     * the expected value, or when that is blank against a Digest or Content-MD5 header of the response. A file that does not match is deleted.
+     * @param digestAlgorithm If null, no digest is computed
+     * @param expectedDigest The expected digest as hex or base64, may be null
+     */
+    public DownloadResult download(Request request, Path path, DigestAlgorithm digestAlgorithm, String expectedDigest) throws IntegrationException {
+        return download(request, path, digestAlgorithm, expectedDigest, false);
+    }
+
+    /**
+     * Downloads as {@link #download(Request, Path, DigestAlgorithm, String)} does.
+     * @param trustETag If true, an MD5 digest is also checked against an ETag that looks like a plain MD5, which only servers known to use the MD5 of
+     *                  the content as their ETag should be trusted with
+     */
+    public DownloadResult download(Request request, Path path, DigestAlgorithm digestAlgorithm, String expectedDigest, boolean trustETag) throws IntegrationException {
+        MessageDigest messageDigest = null == digestAlgorithm ? null : digestAlgorithm.createMessageDigest();
+        long existingLength = 0L;
+        try {
+            if (Files.isRegularFile(path)) {
+                existingLength = Files.size(path);
+            }
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not read the size of %s: %s", path, e.getMessage()), e);
+        }
+
+        Path validatorPath = getValidatorPath(path);
+        Request downloadRequest = request;
+        if (existingLength > 0) {
+            Request.Builder rangeRequestBuilder = new Request.Builder(request).addAdditionalHeader(HttpHeaders.RANGE, "bytes=" + existingLength + "-");
+            readValidator(path, validatorPath).ifPresent(validator -> rangeRequestBuilder.addAdditionalHeader(HttpHeaders.IF_RANGE, validator));
+            downloadRequest = rangeRequestBuilder.build();
+        }
+
+        try (Response response = execute(downloadRequest)) {
+            Integer statusCode = response.getStatusCode();
+            if (existingLength > 0 && Integer.valueOf(RestConstants.RANGE_NOT_SATISFIABLE_416).equals(statusCode)) {
+                long remoteLength = parseContentRangeLength(response.getHeaderValue(HttpHeaders.CONTENT_RANGE));
+                if (remoteLength == existingLength) {
+                    if (null != messageDigest) {
+                        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                            updateDigest(messageDigest, fileChannel, existingLength);
+                        }
+                    }
+                    Files.deleteIfExists(validatorPath);
+                    return verifyDownload(new DownloadResult(path, statusCode, existingLength, 0L, createContentDigest(digestAlgorithm, messageDigest)), expectedDigest, response, trustETag);
+                }
+                logger.debug(String.format("The partial download %s no longer matches the remote content - starting over.", path));
+                Files.delete(path);
+                Files.deleteIfExists(validatorPath);
+                return download(request, path, digestAlgorithm, expectedDigest, trustETag);
+            }
+            throwExceptionForError(response);
+            writeValidator(validatorPath, response);
+
+            long position = 0L;
+            if (Integer.valueOf(RestConstants.PARTIAL_206).equals(statusCode)) {
+                position = parseContentRangeStart(response.getHeaderValue(HttpHeaders.CONTENT_RANGE));
+                if (position != existingLength) {
+                    throw new IntegrationException(String.format("Requested %s from byte %d but the server answered from byte %d.", path, existingLength, position));
+                }
+            }
+
+            DownloadResult downloadResult;
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                fileChannel.truncate(position);
+                if (null != messageDigest) {
+                    updateDigest(messageDigest, fileChannel, position);
+                }
+                long bytesWritten = response.writeTo(fileChannel, position, messageDigest);
+                downloadResult = new DownloadResult(path, statusCode, position, bytesWritten, createContentDigest(digestAlgorithm, messageDigest));
+            }
+            Files.deleteIfExists(validatorPath);
+            String lastModified = response.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+            Date lastModifiedDate = StringUtils.isBlank(lastModified) ? null : DateUtils.parseDate(lastModified);
+            if (null != lastModifiedDate) {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(lastModifiedDate.getTime()));
+            }
+            return verifyDownload(downloadResult, expectedDigest, response, trustETag);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not download to %s: %s", path, e.getMessage()), e);
+        }
+    }
+
+    static Path getValidatorPath(Path path) {
+        return path.resolveSibling(path.getFileName().toString() + VALIDATOR_FILE_SUFFIX);
+    }
+
+    private Optional<String> readValidator(Path path, Path validatorPath) throws IntegrationException {
+        try {
+            if (Files.isRegularFile(validatorPath)) {
+                return Optional.of(new String(Files.readAllBytes(validatorPath), StandardCharsets.UTF_8).trim()).filter(StringUtils::isNotBlank);
+            }
+            return Optional.of(DateUtils.formatDate(new Date(Files.getLastModifiedTime(path).toMillis())));
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not read the validator of %s: %s", path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Keeps the validator of the response that writes the file, a strong ETag or else the Last-Modified, for the If-Range of a resumed download.
+     */
+    private void writeValidator(Path validatorPath, Response response) throws IOException {
+        String validator = response.getHeaderValue(HttpHeaders.ETAG);
+        if (StringUtils.isBlank(validator) || validator.startsWith("W/")) {
+            validator = response.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+        }
+        if (StringUtils.isBlank(validator)) {
+            Files.deleteIfExists(validatorPath);
+        } else {
+            Files.write(validatorPath, validator.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private ContentDigest createContentDigest(DigestAlgorithm digestAlgorithm, MessageDigest messageDigest) {
+        return null == messageDigest ? null : ContentDigest.of(digestAlgorithm, messageDigest);
+    }
+
+    private DownloadResult verifyDownload(DownloadResult downloadResult, String expectedDigest, Response response, boolean trustETag) throws IntegrationException, IOException {
+        Optional<ContentDigest> contentDigest = downloadResult.getContentDigest();
+        if (contentDigest.isPresent()) {
+            try {
+                contentDigest.get().verify(expectedDigest, response, trustETag);
+            } catch (IntegrationException e) {
+                Files.deleteIfExists(downloadResult.getPath());
+                throw e;
+            }
+        }
+        return downloadResult;
+    }
+
+    /**
+     * Digests the part of the file that a resumed download continues from.
+     */
+    private void updateDigest(MessageDigest messageDigest, FileChannel fileChannel, long length) throws IOException {
+        ByteBuffer buffer = Response.allocateTransferBuffer(length);
+        long position = 0L;
+        while (position < length) {
+            buffer.limit((int) Math.min(buffer.capacity(), length - position));
+            int read = fileChannel.read(buffer, position);
+            if (-1 == read) {
+                break;
+            }
+            position += read;
+            buffer.flip();
+            messageDigest.update(buffer);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Downloads the content as up to segmentCount byte ranges requested in parallel, each on its own connection. When the server does not advertise
+     * Accept-Ranges, or the content is too small to split, the content is downloaded as a single stream instead. With a shared connection manager
+     * set on the HttpClientBuilder, more segments than its connections per route (2 by default) only wait for a connection.
+     */
+    public DownloadResult download(Request request, Path path, int segmentCount) throws IntegrationException {
+        if (1 >= segmentCount) {
+            return download(request, path);
+        }
+        return new SegmentedDownload(this, request, path, segmentCount).download();
+    }
+
+    private long parseContentRangeStart(String contentRange) throws IntegrationException {
+        // bytes 100-999/1000
+        String range = StringUtils.substringBetween(contentRange, " ", "-");
+        if (!NumberUtils.isDigits(range)) {
+            throw new IntegrationException(String.format("The Content-Range '%s' could not be parsed.", contentRange));
+        }
+        return Long.parseLong(range);
+    }
+
+    private long parseContentRangeLength(String contentRange) {
+        // bytes */1000
+        String length = StringUtils.substringAfterLast(contentRange, "/");
+        return NumberUtils.isDigits(length) ? Long.parseLong(length) : -1L;
+    }
+
+    /**
+     * Some entities report that they are repeatable when their body content is not, such as a multipart entity, which only checks that its length
+     * is known. Hiding that keeps {@link #prepareReplay(HttpUriRequest)} from trusting such an entity to be written twice.
+     */
+    private void markNotRepeatable(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+            HttpEntity entity = entityEnclosingRequest.getEntity();
+            if (null != entity && entity.isRepeatable()) {
+                entityEnclosingRequest.setEntity(new HttpEntityWrapper(entity) {
+                    @Override
+                    public boolean isRepeatable() {
+                        return false;
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Compresses the body if the {@link CompressionPolicy} selects it. This happens before {@link #prepareReplay(HttpUriRequest)} so that a kept copy
+     * is of the compressed body, and a body that is already compressed is left alone, so applying it again when a request is resent does nothing.
+     */
+    protected final void applyCompressionPolicy(HttpUriRequest request) {
+        if (null != compressionPolicy) {
+            compressionPolicy.apply(request);
+        }
+    }
+
+    /**
+     * Wraps a body that can not be repeated so a copy is kept while it is sent, letting the request be sent again for a redirect or authentication.
+     * @return The new wrapper, which the caller must release once the request will not be sent again
+     */
+    protected final Optional<ReplayableEntity> prepareReplay(HttpUriRequest request) {
+        if (0 >= replayLimitBytes || !(request instanceof HttpEntityEnclosingRequest)) {
+            return Optional.empty();
+        }
+        HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = entityEnclosingRequest.getEntity();
+        if (null == entity || entity.isRepeatable() || entity instanceof ReplayableEntity) {
+            return Optional.empty();
+        }
+        ReplayableEntity replayableEntity = new ReplayableEntity(entity, replayMemoryThresholdBytes, replayLimitBytes);
+        entityEnclosingRequest.setEntity(replayableEntity);
+        return Optional.of(replayableEntity);
+    }
+
+    /**
+     * Asks the server to accept or reject a large body with Expect: 100-continue before the body is sent, so a rejected request, for example one
+     * with an expired token, costs no upload. A body of unknown length is sent without asking, as it may well be small and a server that does not
+     * answer the expectation delays every request.
+     */
+    protected final void prepareExpectContinue(HttpUriRequest request) {
+        if (0 >= expectContinueThresholdBytes || !(request instanceof HttpEntityEnclosingRequest) || !(request instanceof HttpRequestBase)) {
+            return;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (null == entity) {
+            return;
+        }
+        long contentLength = entity.getContentLength();
+        if (contentLength < expectContinueThresholdBytes) {
+            return;
+        }
+        HttpRequestBase httpRequestBase = (HttpRequestBase) request;
+        RequestConfig requestConfig = null != httpRequestBase.getConfig() ? httpRequestBase.getConfig() : defaultRequestConfigBuilder.build();
+        if (!requestConfig.isExpectContinueEnabled()) {
+            httpRequestBase.setConfig(RequestConfig.copy(requestConfig).setExpectContinueEnabled(true).build());
+        }
+    }
+
+    /**
+     * @return true if the request has no body or its body can be sent again
+     */
+    public final boolean isRepeatable(HttpUriRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return true;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        return null == entity || entity.isRepeatable();
+    }
+
     public final void logRequestHeaders(HttpUriRequest request) {
         String requestName = request.getClass().getSimpleName();
         logger.trace(requestName + " : " + request.toString());
@@ -268,37 +583,97 @@ public class IntHttpClient {
 
     public void throwExceptionForError(Response response) throws IntegrationException {
         try {
-            response.throwExceptionForError();
+            response.throwExceptionForError(maxErrorContentBytes, !stacklessErrorStatusCodes.contains(response.getStatusCode()));
         } catch (IntegrationRestException e) {
             throw transformException(e);
         }
     }
 
-    private IntegrationException transformException(IntegrationRestException e) {
+    /**
+     * @return An {@link ApiException} if the content of the error response holds an error the server described, otherwise the exception itself
+     */
+    public IntegrationException transformException(IntegrationRestException e) {
         String httpResponseContent = e.getHttpResponseContent();
         Optional<ErrorResponse> optionalErrorResponse = extractErrorResponse(httpResponseContent);
         if (optionalErrorResponse.isPresent()) {
             ErrorResponse errorResponse = optionalErrorResponse.get();
             String apiExceptionErrorMessage = String.format("%s [HTTP Error]: %s", errorResponse.getErrorMessage(), e.getMessage());
-            return new ApiException(e, apiExceptionErrorMessage, errorResponse.getErrorCode());
+            boolean writableStackTrace = !stacklessErrorStatusCodes.contains(e.getHttpStatusCode());
+            return new ApiException(e, apiExceptionErrorMessage, errorResponse.getErrorCode(), writableStackTrace);
         } else {
             return e;
         }
     }
 
     public Optional<ErrorResponse> extractErrorResponse(String responseContent) {
-        if (StringUtils.isNotBlank(responseContent)) {
-            try {
-                String errorMessage = JsonPath.read(responseContent, "$.errorMessage");
-                String errorCode = JsonPath.read(responseContent, "$.errorCode");
-                if (!StringUtils.isAllBlank(errorMessage, errorCode)) {
-                    return Optional.of(new ErrorResponse(errorMessage, errorCode));
-                }
-            } catch (Exception ignored) {
-                //ignored
-            }
+        return errorResponseDecoder.decode(responseContent);
+    }
+
+    public Set<Integer> getStacklessErrorStatusCodes() {
+        return stacklessErrorStatusCodes;
+    }
+
+    /**
+     * Error responses with these status codes, such as 404 for existence checks or 409 for conflict retries, will throw exceptions without a stack
+     * trace. Filling in a stack trace is most of the cost of an expected error.
+     */
+    public void setStacklessErrorStatusCodes(Set<Integer> stacklessErrorStatusCodes) {
+        this.stacklessErrorStatusCodes = null == stacklessErrorStatusCodes ? Collections.emptySet() : new HashSet<>(stacklessErrorStatusCodes);
+    }
+
+    public Optional<CompressionPolicy> getCompressionPolicy() {
+        return Optional.ofNullable(compressionPolicy);
+    }
+
+    /**
+     * @param compressionPolicy If not null, request bodies it selects are gzip compressed as they are sent
+     */
+    public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    public int getReplayMemoryThresholdBytes() {
+        return replayMemoryThresholdBytes;
+    }
+
+    public long getReplayLimitBytes() {
+        return replayLimitBytes;
+    }
+
+    /**
+     * Bodies that can not be repeated are copied while they are sent: in memory up to the threshold, then to a temporary file up to the limit.
+     * A request whose body was longer than the limit will not be sent again. A limit of 0 turns the copying off.
+     */
+    public void setReplayBuffering(int replayMemoryThresholdBytes, long replayLimitBytes) {
+        this.replayMemoryThresholdBytes = replayMemoryThresholdBytes;
+        this.replayLimitBytes = replayLimitBytes;
+    }
+
+    public long getExpectContinueThresholdBytes() {
+        return expectContinueThresholdBytes;
+    }
+
+    /**
+     * @param expectContinueThresholdBytes Bodies known to be at least this size are sent with Expect: 100-continue, 0 turns this off, which is the
+     *                                     default. {@link #DEFAULT_EXPECT_CONTINUE_THRESHOLD_BYTES} suits clients whose requests are often rejected,
+     *                                     such as ones whose tokens expire.
+     */
+    public void setExpectContinueThresholdBytes(long expectContinueThresholdBytes) {
+        this.expectContinueThresholdBytes = expectContinueThresholdBytes;
+    }
+
+    public int getMaxErrorContentBytes() {
+        return maxErrorContentBytes;
+    }
+
+    /**
+     * @param maxErrorContentBytes The most bytes of an error body that will be read and kept on the thrown exception
+     */
+    public void setMaxErrorContentBytes(int maxErrorContentBytes) {
+        if (0 >= maxErrorContentBytes) {
+            throw new IllegalArgumentException("The maximum error content size must be greater than 0.");
         }
-        return Optional.empty();
+        this.maxErrorContentBytes = maxErrorContentBytes;
     }
 
     public int getTimeoutInSeconds() {
@@ -0,0 +1,246 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.HttpHeaders;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.HttpStatusClassification;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Downloads one resource as several byte ranges requested in parallel. Each segment is written at its own offset of a preallocated temporary file
+ * next to the target and is retried on its own when it fails. The temporary file replaces the target only once every segment is written, and is
+ * deleted otherwise, so a failed download never leaves a file of the full length that looks complete.
+ * <p>
+ * Every segment is requested with an If-Range of the ETag or Last-Modified the HEAD request returned, so content that changes during the download
+ * fails it instead of mixing two versions. Only failures that another attempt can fix, such as a 503 or a broken connection, are retried. Once a
+ * segment fails for good the others are interrupted and waited for before the file is closed and deleted.
+ * <p>
+ * Each segment runs on its own thread. Every request builds its own client, so segments do not wait for each other's connections, unless the
+ * client was given an HttpClientBuilder with a shared connection manager, which by default allows only 2 connections per route, so the segments
+ * beyond that wait for a connection.
+ */
+class SegmentedDownload {
+    public static final long MINIMUM_SEGMENT_LENGTH = 1024L * 1024L;
+    public static final int MAXIMUM_SEGMENT_ATTEMPTS = 3;
+    public static final String PART_FILE_SUFFIX = ".part";
+
+    private final IntHttpClient intHttpClient;
+    private final Request request;
+    private final Path path;
+    private final int segmentCount;
+    private String validator;
+    private volatile boolean stopped;
+
+    public SegmentedDownload(IntHttpClient intHttpClient, Request request, Path path, int segmentCount) {
+        this.intHttpClient = intHttpClient;
+        this.request = request;
+        this.path = path;
+        this.segmentCount = segmentCount;
+    }
+
+    public DownloadResult download() throws IntegrationException {
+        long length = findRangeableLength();
+        int segments = (int) Math.min(segmentCount, length / MINIMUM_SEGMENT_LENGTH);
+        if (segments < 2) {
+            intHttpClient.getLogger().debug(String.format("Downloading %s as a single stream.", request.getUri()));
+            return intHttpClient.download(request, path);
+        }
+
+        Path segmentsPath;
+        try {
+            segmentsPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), PART_FILE_SUFFIX);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not create a temporary file for %s: %s", path, e.getMessage()), e);
+        }
+        try {
+            long bytesWritten = downloadSegments(segmentsPath, length, segments);
+            Files.move(segmentsPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // a validator left by an earlier partial download no longer describes the file
+            Files.deleteIfExists(IntHttpClient.getValidatorPath(path));
+            return new DownloadResult(path, RestConstants.PARTIAL_206, 0L, bytesWritten);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not download to %s: %s", path, e.getMessage()), e);
+        } finally {
+            try {
+                Files.deleteIfExists(segmentsPath);
+            } catch (IOException e) {
+                intHttpClient.getLogger().debug(String.format("Could not delete %s: %s", segmentsPath, e.getMessage()));
+            }
+        }
+    }
+
+    private long downloadSegments(Path segmentsPath, long length, int segments) throws IntegrationException, IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(segments);
+        CompletionService<Long> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<Long>> futures = new ArrayList<>();
+        try (FileChannel fileChannel = FileChannel.open(segmentsPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            try {
+                fileChannel.write(ByteBuffer.wrap(new byte[1]), length - 1);
+
+                long segmentLength = (length + segments - 1) / segments;
+                for (long start = 0; start < length; start += segmentLength) {
+                    long segmentStart = start;
+                    long segmentEnd = Math.min(start + segmentLength, length) - 1;
+                    futures.add(completionService.submit(() -> downloadSegment(fileChannel, segmentStart, segmentEnd)));
+                }
+
+                // taken in the order they finish so that the first failure stops the others
+                long bytesWritten = 0L;
+                for (int finished = 0; finished < futures.size(); finished++) {
+                    bytesWritten += completionService.take().get();
+                }
+                return bytesWritten;
+            } finally {
+                // the segments still running have to stop before the channel they write to is closed
+                stopSegments(executorService, futures);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException(String.format("The download of %s was interrupted.", request.getUri()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IntegrationException) {
+                throw (IntegrationException) e.getCause();
+            }
+            throw new IntegrationException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Interrupts the segments that are still running, which stops them at their next read or write or before their next attempt, and waits for them to finish.
+     */
+    private void stopSegments(ExecutorService executorService, List<Future<Long>> futures) {
+        stopped = true;
+        futures.forEach(future -> future.cancel(true));
+        executorService.shutdownNow();
+        boolean interrupted = false;
+        while (!executorService.isTerminated()) {
+            try {
+                executorService.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The length of the resource when the server accepts byte ranges for it, otherwise 0
+     */
+    private long findRangeableLength() throws IntegrationException {
+        Request headRequest = new Request.Builder(request).method(HttpMethod.HEAD).build();
+        try (Response response = intHttpClient.execute(headRequest)) {
+            if (!response.isStatusCodeOkay() || !StringUtils.equalsIgnoreCase("bytes", response.getHeaderValue(HttpHeaders.ACCEPT_RANGES))) {
+                return 0L;
+            }
+            validator = response.getHeaderValue(HttpHeaders.ETAG);
+            if (StringUtils.isBlank(validator) || validator.startsWith("W/")) {
+                // a weak ETag can not be used in an If-Range
+                validator = response.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+            }
+            String contentLength = response.getHeaderValue(HttpHeaders.CONTENT_LENGTH);
+            return NumberUtils.isDigits(contentLength) ? Long.parseLong(contentLength) : 0L;
+        } catch (IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    private long downloadSegment(FileChannel fileChannel, long start, long end) throws IntegrationException {
+        String range = String.format("bytes=%d-%d", start, end);
+        Request.Builder segmentRequestBuilder = new Request.Builder(request).addAdditionalHeader(HttpHeaders.RANGE, range);
+        if (StringUtils.isNotBlank(validator)) {
+            segmentRequestBuilder.addAdditionalHeader(HttpHeaders.IF_RANGE, validator);
+        }
+        Request segmentRequest = segmentRequestBuilder.build();
+        IntegrationException lastException = null;
+        for (int attempt = 1; attempt <= MAXIMUM_SEGMENT_ATTEMPTS; attempt++) {
+            if (isStopped()) {
+                throw new IntegrationException(String.format("The download of %s of %s was stopped.", range, request.getUri()));
+            }
+            boolean retryable = true;
+            try (Response response = intHttpClient.execute(segmentRequest)) {
+                HttpStatusClassification statusClassification = response.getStatusClassification();
+                if (statusClassification.isError()) {
+                    retryable = HttpStatusClassification.RETRYABLE == statusClassification;
+                    intHttpClient.throwExceptionForError(response);
+                }
+                String contentRange = response.getHeaderValue(HttpHeaders.CONTENT_RANGE);
+                if (!Integer.valueOf(RestConstants.PARTIAL_206).equals(response.getStatusCode()) || !StringUtils.startsWith(contentRange, String.format("bytes %d-%d/", start, end))) {
+                    // a 200 means the content no longer matches the If-Range, which another attempt will not change
+                    retryable = false;
+                    throw new IntegrationException(String.format("Requested %s of %s but the server answered %s %s.", range, request.getUri(), response.getStatusCode(), contentRange));
+                }
+                long bytesWritten = response.writeTo(fileChannel, start);
+                if (bytesWritten != end - start + 1) {
+                    throw new IntegrationException(String.format("Requested %s of %s but received %d bytes.", range, request.getUri(), bytesWritten));
+                }
+                return bytesWritten;
+            } catch (IntegrationException e) {
+                lastException = e;
+            } catch (IOException e) {
+                lastException = new IntegrationException(e.getMessage(), e);
+            }
+            // a closed channel or an interrupt means the download has already failed or was stopped
+            if (lastException.getCause() instanceof ClosedChannelException || isStopped()) {
+                retryable = false;
+            }
+            if (!retryable) {
+                throw lastException;
+            }
+            intHttpClient.getLogger().debug(String.format("Attempt %d to download %s of %s failed: %s", attempt, range, request.getUri(), lastException.getMessage()));
+        }
+        throw lastException;
+    }
+
+    private boolean isStopped() {
+        // the http client does not always keep the interrupted status of the thread
+        return stopped || Thread.currentThread().isInterrupted();
+    }
+
+}
@@ -0,0 +1,275 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.component;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Binds a json tree to a component after adding the json of every inner object to it as the {@link IntRestComponent#FIELD_NAME_JSON} field, unless
+ * the binder was created not to.
+ * <p>
+ * The values of {@link LazyComponent} fields are left out of both steps: while the tree is bound each of them is swapped for a placeholder, so the
+ * LazyComponent receives the parsed subtree itself rather than a copy, and its json fields are only added when the LazyComponent is resolved,
+ * which binds a copy of that subtree. The tree is restored before binding returns, and since it is changed while it is bound it must not be shared
+ * with other threads until then. Values whose declared type can not be resolved, such as those of Map fields, are handled eagerly.
+ */
+public class ComponentJsonBinder {
+    private static final String PLACEHOLDER_PREFIX = "\u0000lazy:";
+    private static final AtomicLong PLACEHOLDER_IDS = new AtomicLong();
+    private static final ThreadLocal<Binding> CURRENT_BINDING = new ThreadLocal<>();
+
+    private final Gson gson;
+    private final boolean addJsonFields;
+    private final Map<Type, Map<String, Type>> fieldTypesByType = new ConcurrentHashMap<>();
+
+    public ComponentJsonBinder(Gson gson) {
+        this(gson, true);
+    }
+
+    /**
+     * @param addJsonFields If false, the components are bound without their {@link IntRestComponent#FIELD_NAME_JSON} field
+     */
+    public ComponentJsonBinder(Gson gson, boolean addJsonFields) {
+        this.gson = gson;
+        this.addJsonFields = addJsonFields;
+    }
+
+    public <T> T bind(JsonElement jsonElement, Type type) {
+        Binding binding = new Binding(this);
+        addJsonAsField(jsonElement, type, binding);
+        Binding previousBinding = CURRENT_BINDING.get();
+        CURRENT_BINDING.set(binding);
+        try {
+            return gson.fromJson(jsonElement, type);
+        } finally {
+            binding.restore();
+            if (null == previousBinding) {
+                CURRENT_BINDING.remove();
+            } else {
+                CURRENT_BINDING.set(previousBinding);
+            }
+        }
+    }
+
+    /**
+     * @return The binding running on this thread, or null outside of {@link #bind(JsonElement, Type)}
+     */
+    static Binding getCurrentBinding() {
+        return CURRENT_BINDING.get();
+    }
+
+    // Recursively add json as field of every inner object, setting aside the values of LazyComponent fields
+    private void addJsonAsField(JsonElement jsonElement, Type type, Binding binding) {
+        if (jsonElement.isJsonObject()) {
+            JsonObject innerObject = jsonElement.getAsJsonObject();
+            if (addJsonFields) {
+                String innerObjectJson = gson.toJson(innerObject);
+                innerObject.addProperty(IntRestComponent.FIELD_NAME_JSON, innerObjectJson);
+            }
+            Map<String, Type> fieldTypes = getFieldTypes(type);
+            for (Map.Entry<String, JsonElement> innerObjectField : innerObject.entrySet()) {
+                Type fieldType = fieldTypes.get(innerObjectField.getKey());
+                if (isLazyComponent(fieldType) && !innerObjectField.getValue().isJsonNull()) {
+                    binding.setAside(innerObjectField.getValue(), innerObjectField::setValue);
+                } else {
+                    addJsonAsField(innerObjectField.getValue(), fieldType, binding);
+                }
+            }
+        } else if (jsonElement.isJsonArray()) {
+            JsonArray innerArray = jsonElement.getAsJsonArray();
+            Type elementType = getElementType(type);
+            boolean lazyElements = isLazyComponent(elementType);
+            for (int index = 0; index < innerArray.size(); index++) {
+                JsonElement arrayElement = innerArray.get(index);
+                if (lazyElements && !arrayElement.isJsonNull()) {
+                    int elementIndex = index;
+                    binding.setAside(arrayElement, placeholder -> innerArray.set(elementIndex, placeholder));
+                } else {
+                    addJsonAsField(arrayElement, elementType, binding);
+                }
+            }
+        }
+    }
+
+    private boolean isLazyComponent(Type type) {
+        Class<?> rawType = getRawType(type);
+        return null != rawType && LazyComponent.class.isAssignableFrom(rawType);
+    }
+
+    private Map<String, Type> getFieldTypes(Type type) {
+        Class<?> rawType = getRawType(type);
+        if (null == rawType || rawType.isArray() || rawType.isPrimitive() || rawType.getName().startsWith("java.") || JsonElement.class.isAssignableFrom(rawType)) {
+            return Collections.emptyMap();
+        }
+        return fieldTypesByType.computeIfAbsent(type, this::findFieldTypes);
+    }
+
+    private Map<String, Type> findFieldTypes(Type type) {
+        Map<String, Type> fieldTypes = new HashMap<>();
+        Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+        Type currentType = type;
+        Class<?> currentClass = getRawType(type);
+        while (null != currentClass && Object.class != currentClass) {
+            if (currentType instanceof ParameterizedType) {
+                TypeVariable<?>[] typeParameters = currentClass.getTypeParameters();
+                Type[] actualTypeArguments = ((ParameterizedType) currentType).getActualTypeArguments();
+                for (int index = 0; index < typeParameters.length && index < actualTypeArguments.length; index++) {
+                    typeArguments.put(typeParameters[index], resolve(actualTypeArguments[index], typeArguments));
+                }
+            }
+            for (Field field : currentClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                Type fieldType = resolve(field.getGenericType(), typeArguments);
+                Type knownFieldType = null == fieldType ? field.getType() : fieldType;
+                for (String fieldName : getFieldNames(field)) {
+                    fieldTypes.putIfAbsent(fieldName, knownFieldType);
+                }
+            }
+            currentType = currentClass.getGenericSuperclass();
+            currentClass = currentClass.getSuperclass();
+        }
+        return fieldTypes;
+    }
+
+    private List<String> getFieldNames(Field field) {
+        List<String> fieldNames = new ArrayList<>();
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        if (null == serializedName) {
+            fieldNames.add(gson.fieldNamingStrategy().translateName(field));
+        } else {
+            fieldNames.add(serializedName.value());
+            Collections.addAll(fieldNames, serializedName.alternate());
+        }
+        return fieldNames;
+    }
+
+    // Returns null when the type depends on a type variable that is not known
+    private Type resolve(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            return typeArguments.get(type);
+        } else if (type instanceof WildcardType) {
+            return resolve(((WildcardType) type).getUpperBounds()[0], typeArguments);
+        } else if (type instanceof GenericArrayType) {
+            Class<?> componentType = getRawType(resolve(((GenericArrayType) type).getGenericComponentType(), typeArguments));
+            return null == componentType ? null : Array.newInstance(componentType, 0).getClass();
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            Type[] resolvedTypeArguments = new Type[actualTypeArguments.length];
+            for (int index = 0; index < actualTypeArguments.length; index++) {
+                resolvedTypeArguments[index] = resolve(actualTypeArguments[index], typeArguments);
+                if (null == resolvedTypeArguments[index]) {
+                    return parameterizedType.getRawType();
+                }
+            }
+            return TypeToken.getParameterized(parameterizedType.getRawType(), resolvedTypeArguments).getType();
+        }
+        return null;
+    }
+
+    private Type getElementType(Type type) {
+        Class<?> rawType = getRawType(type);
+        if (null == rawType) {
+            return null;
+        } else if (rawType.isArray()) {
+            return rawType.getComponentType();
+        } else if (Collection.class.isAssignableFrom(rawType) && type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return null;
+    }
+
+    private Class<?> getRawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+
+    /**
+     * The values set aside while a tree is bound, each keyed by the placeholder that stands in for it.
+     */
+    static class Binding {
+        private final ComponentJsonBinder binder;
+        private final Map<String, JsonElement> setAsideValues = new HashMap<>();
+        private final List<Runnable> restorers = new ArrayList<>();
+
+        private Binding(ComponentJsonBinder binder) {
+            this.binder = binder;
+        }
+
+        private void setAside(JsonElement value, Consumer<JsonElement> setter) {
+            String placeholder = PLACEHOLDER_PREFIX + PLACEHOLDER_IDS.incrementAndGet();
+            setAsideValues.put(placeholder, value);
+            setter.accept(new JsonPrimitive(placeholder));
+            restorers.add(() -> setter.accept(value));
+        }
+
+        private void restore() {
+            restorers.forEach(Runnable::run);
+        }
+
+        /**
+         * @return The value the placeholder stands in for, or null if it is not a placeholder of this binding
+         */
+        JsonElement getSetAsideValue(String placeholder) {
+            return setAsideValues.get(placeholder);
+        }
+
+        ComponentJsonBinder getBinder() {
+            return binder;
+        }
+
+    }
+
+}
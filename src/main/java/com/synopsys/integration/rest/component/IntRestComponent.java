@@ -33,8 +33,16 @@ public class IntRestComponent extends Stringable {
 
     private String json;
     private transient JsonElement jsonElement;
+    private transient JsonTape jsonTape;
 
+    /**
+     * @return The json of the component or, if only the compact representation was retained, the json decoded from it. Inner components of a
+     * compact component have no json.
+     */
     public String getJson() {
+        if (null == json && null != jsonTape) {
+            return jsonTape.getJson("").orElse(null);
+        }
         return json;
     }
 
@@ -42,7 +50,13 @@ public class IntRestComponent extends Stringable {
         this.json = json;
     }
 
+    /**
+     * @return The retained JsonElement or, if only the compact representation was retained, a new JsonElement decoded from it
+     */
     public JsonElement getJsonElement() {
+        if (null == jsonElement && null != jsonTape) {
+            return jsonTape.getJsonElement();
+        }
         return jsonElement;
     }
 
@@ -50,4 +64,12 @@ public class IntRestComponent extends Stringable {
         this.jsonElement = jsonElement;
     }
 
+    public JsonTape getJsonTape() {
+        return jsonTape;
+    }
+
+    public void setJsonTape(final JsonTape jsonTape) {
+        this.jsonTape = jsonTape;
+    }
+
 }
@@ -0,0 +1,344 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A compact, read-only representation of a json document: the utf-8 bytes of the json and a flat tape of token offsets.
+ * Instead of a tree of maps, boxed primitives and Strings, it holds one byte per character of json and three ints per token,
+ * and values are only decoded when they are looked up.
+ * <p>
+ * Every token on the tape records the offset where it starts, the offset after it ends, and the tape index after its last descendant, so
+ * a lookup can step over whole objects and arrays without reading them. The members of an object are stored as a key token followed by its value.
+ */
+public class JsonTape {
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+    private static final int START = 0;
+    private static final int END = 1;
+    private static final int NEXT = 2;
+    private static final int TOKEN_WIDTH = 3;
+
+    private final byte[] bytes;
+    private int[] tape;
+    private int tokenCount;
+    private int position;
+
+    public static JsonTape of(JsonElement jsonElement) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            JSON_ELEMENT_ADAPTER.write(new JsonWriter(writer), jsonElement);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new JsonTape(outputStream.toByteArray());
+    }
+
+    public static JsonTape of(String json) {
+        return new JsonTape(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonTape(byte[] bytes) {
+        this.bytes = bytes;
+        this.tape = new int[Math.max(TOKEN_WIDTH * 16, bytes.length / 8)];
+        skipWhitespace();
+        parseValue();
+        skipWhitespace();
+        if (position != bytes.length) {
+            throw syntaxError("Unexpected content after the json value");
+        }
+        tape = Arrays.copyOf(tape, tokenCount * TOKEN_WIDTH);
+    }
+
+    /**
+     * @return A new tree of the whole document. The tree is not retained by the tape.
+     */
+    public JsonElement getJsonElement() {
+        return decode(0);
+    }
+
+    /**
+     * @param jsonPointer A json pointer (RFC 6901), such as '/items/0/name'. The empty pointer refers to the whole document.
+     * @return A new tree of the value the pointer refers to, if there is one
+     */
+    public Optional<JsonElement> getJsonElement(String jsonPointer) {
+        int index = find(jsonPointer);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(decode(index));
+    }
+
+    /**
+     * @return The json text of the value the pointer refers to, if there is one
+     */
+    public Optional<String> getJson(String jsonPointer) {
+        int index = find(jsonPointer);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(slice(index));
+    }
+
+    /**
+     * @return The value the pointer refers to as a String, if there is one and it is not an object, an array or null
+     */
+    public Optional<String> getString(String jsonPointer) {
+        return getJsonElement(jsonPointer)
+                   .filter(JsonElement::isJsonPrimitive)
+                   .map(JsonElement::getAsString);
+    }
+
+    public boolean contains(String jsonPointer) {
+        return find(jsonPointer) >= 0;
+    }
+
+    /**
+     * @return The number of bytes retained for the json text and the tape
+     */
+    public long getRetainedSize() {
+        return bytes.length + (long) tape.length * Integer.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int find(String jsonPointer) {
+        if (null == jsonPointer || jsonPointer.isEmpty()) {
+            return 0;
+        }
+        if (jsonPointer.charAt(0) != '/') {
+            throw new IllegalArgumentException(String.format("A json pointer must be empty or start with '/': %s", jsonPointer));
+        }
+
+        int index = 0;
+        for (String referenceToken : jsonPointer.substring(1).split("/", -1)) {
+            String fieldName = referenceToken.replace("~1", "/").replace("~0", "~");
+            byte first = bytes[tape[index * TOKEN_WIDTH + START]];
+            if ('{' == first) {
+                index = findMember(index, fieldName);
+            } else if ('[' == first) {
+                index = findElement(index, fieldName);
+            } else {
+                index = -1;
+            }
+            if (index < 0) {
+                return -1;
+            }
+        }
+        return index;
+    }
+
+    private int findMember(int objectIndex, String fieldName) {
+        byte[] fieldNameBytes = fieldName.getBytes(StandardCharsets.UTF_8);
+        int end = tape[objectIndex * TOKEN_WIDTH + NEXT];
+        int keyIndex = objectIndex + 1;
+        while (keyIndex < end) {
+            int valueIndex = keyIndex + 1;
+            if (keyEquals(keyIndex, fieldName, fieldNameBytes)) {
+                return valueIndex;
+            }
+            keyIndex = tape[valueIndex * TOKEN_WIDTH + NEXT];
+        }
+        return -1;
+    }
+
+    private int findElement(int arrayIndex, String referenceToken) {
+        int elementNumber;
+        try {
+            elementNumber = Integer.parseInt(referenceToken);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        int end = tape[arrayIndex * TOKEN_WIDTH + NEXT];
+        int elementIndex = arrayIndex + 1;
+        for (int i = 0; i < elementNumber && elementIndex < end; i++) {
+            elementIndex = tape[elementIndex * TOKEN_WIDTH + NEXT];
+        }
+        return elementNumber >= 0 && elementIndex < end ? elementIndex : -1;
+    }
+
+    private boolean keyEquals(int keyIndex, String fieldName, byte[] fieldNameBytes) {
+        int start = tape[keyIndex * TOKEN_WIDTH + START] + 1;
+        int end = tape[keyIndex * TOKEN_WIDTH + END] - 1;
+        boolean escaped = false;
+        for (int i = start; i < end && !escaped; i++) {
+            escaped = '\\' == bytes[i];
+        }
+        if (escaped) {
+            return fieldName.equals(decode(keyIndex).getAsString());
+        }
+        if (end - start != fieldNameBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < fieldNameBytes.length; i++) {
+            if (bytes[start + i] != fieldNameBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonElement decode(int index) {
+        try {
+            return JSON_ELEMENT_ADAPTER.fromJson(slice(index));
+        } catch (IOException e) {
+            throw new JsonParseException(e.getMessage(), e);
+        }
+    }
+
+    private String slice(int index) {
+        int start = tape[index * TOKEN_WIDTH + START];
+        int end = tape[index * TOKEN_WIDTH + END];
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    // ===========
+    // Tokenizing
+    // ===========
+
+    private void parseValue() {
+        if (position >= bytes.length) {
+            throw syntaxError("Unexpected end of the json");
+        }
+        int index = addToken();
+        byte current = bytes[position];
+        if ('{' == current) {
+            parseContainer('}', true);
+        } else if ('[' == current) {
+            parseContainer(']', false);
+        } else if ('"' == current) {
+            parseString();
+        } else {
+            parseLiteral();
+        }
+        tape[index * TOKEN_WIDTH + END] = position;
+        tape[index * TOKEN_WIDTH + NEXT] = tokenCount;
+    }
+
+    private void parseContainer(char close, boolean hasKeys) {
+        position++;
+        skipWhitespace();
+        if (position < bytes.length && close == bytes[position]) {
+            position++;
+            return;
+        }
+        while (true) {
+            if (hasKeys) {
+                parseKey();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+            }
+            parseValue();
+            skipWhitespace();
+            if (position < bytes.length && ',' == bytes[position]) {
+                position++;
+                skipWhitespace();
+            } else {
+                expect(close);
+                return;
+            }
+        }
+    }
+
+    private void parseKey() {
+        if (position >= bytes.length || '"' != bytes[position]) {
+            throw syntaxError("Expected a field name");
+        }
+        int index = addToken();
+        parseString();
+        tape[index * TOKEN_WIDTH + END] = position;
+        tape[index * TOKEN_WIDTH + NEXT] = tokenCount;
+    }
+
+    private void parseString() {
+        position++;
+        while (position < bytes.length && '"' != bytes[position]) {
+            if ('\\' == bytes[position]) {
+                position++;
+            }
+            position++;
+        }
+        expect('"');
+    }
+
+    private void parseLiteral() {
+        int start = position;
+        while (position < bytes.length && !isDelimiter(bytes[position])) {
+            position++;
+        }
+        if (start == position) {
+            throw syntaxError("Expected a value");
+        }
+    }
+
+    private int addToken() {
+        if ((tokenCount + 1) * TOKEN_WIDTH > tape.length) {
+            tape = Arrays.copyOf(tape, tape.length * 2);
+        }
+        tape[tokenCount * TOKEN_WIDTH + START] = position;
+        return tokenCount++;
+    }
+
+    private void expect(char expected) {
+        if (position >= bytes.length || expected != bytes[position]) {
+            throw syntaxError(String.format("Expected '%s'", expected));
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < bytes.length && isWhitespace(bytes[position])) {
+            position++;
+        }
+    }
+
+    private boolean isWhitespace(byte current) {
+        return ' ' == current || '\n' == current || '\r' == current || '\t' == current;
+    }
+
+    private boolean isDelimiter(byte current) {
+        return ',' == current || '}' == current || ']' == current || ':' == current || isWhitespace(current);
+    }
+
+    private JsonParseException syntaxError(String message) {
+        return new JsonParseException(String.format("%s at byte %d of the json.", message, position));
+    }
+
+}
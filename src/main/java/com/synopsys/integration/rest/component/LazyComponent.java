@@ -0,0 +1,132 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.component;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+
+/**
+ * Defers the deserialization of a nested value until it is first accessed. Declaring a field of an {@link IntRestComponent} subclass as, for example,
+ * {@code LazyComponent<LicenseView>} or {@code LazyComponent<List<LicenseView>>} keeps only the field's json while the parent is deserialized,
+ * so callers that never read the field never pay to build it.
+ * <p>
+ * The value is deserialized at most once, even when accessed from several threads, after which the json is released. When the parent is bound by a
+ * {@link ComponentJsonBinder}, the json is the parent's own parsed subtree, and its json fields are only added, to a copy, when the value is deserialized,
+ * so the parent's json is left as it was.
+ */
+@JsonAdapter(LazyComponentTypeAdapterFactory.class)
+public class LazyComponent<T> {
+    private final TypeAdapter<T> typeAdapter;
+    private final ComponentJsonBinder binder;
+    private final Type valueType;
+    private volatile JsonElement jsonElement;
+    private volatile T value;
+    private volatile boolean resolved;
+
+    /**
+     * @return A LazyComponent that is already resolved to the value, for objects that are built rather than deserialized
+     */
+    public static <T> LazyComponent<T> of(T value) {
+        return new LazyComponent<>(value);
+    }
+
+    LazyComponent(JsonElement jsonElement, TypeAdapter<T> typeAdapter) {
+        this.jsonElement = jsonElement;
+        this.typeAdapter = typeAdapter;
+        this.binder = null;
+        this.valueType = null;
+    }
+
+    LazyComponent(JsonElement jsonElement, TypeAdapter<T> typeAdapter, ComponentJsonBinder binder, Type valueType) {
+        this.jsonElement = jsonElement;
+        this.typeAdapter = typeAdapter;
+        this.binder = binder;
+        this.valueType = valueType;
+    }
+
+    private LazyComponent(T value) {
+        this.typeAdapter = null;
+        this.binder = null;
+        this.valueType = null;
+        this.value = value;
+        this.resolved = true;
+    }
+
+    public T get() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    if (null == binder) {
+                        value = typeAdapter.fromJsonTree(jsonElement);
+                    } else {
+                        // the parent still holds the json and binding adds to it, so a copy is bound
+                        value = binder.bind(jsonElement.deepCopy(), valueType);
+                    }
+                    resolved = true;
+                    jsonElement = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * @return The json of the value if it has not been resolved yet
+     */
+    JsonElement getUnresolvedJsonElement() {
+        return jsonElement;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyComponent)) {
+            return false;
+        }
+        return Objects.equals(get(), ((LazyComponent<?>) o).get());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(get());
+    }
+
+    @Override
+    public String toString() {
+        if (resolved) {
+            return String.valueOf(value);
+        }
+        return "LazyComponent[unresolved]";
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.component;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads a {@link LazyComponent} by capturing the json of its value, or, while a {@link ComponentJsonBinder} is binding, by taking the subtree it set aside, and writes it from either the resolved value or the captured json.
+ * It is applied through the {@link com.google.gson.annotations.JsonAdapter} annotation on LazyComponent, so no registration with Gson is needed.
+ */
+public class LazyComponentTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (!LazyComponent.class.isAssignableFrom(typeToken.getRawType())) {
+            return null;
+        }
+        Type valueType = getValueType(typeToken.getType());
+        TypeAdapter<Object> valueAdapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(valueType));
+        TypeAdapter<JsonElement> jsonElementAdapter = gson.getAdapter(JsonElement.class);
+        return (TypeAdapter<T>) new LazyComponentTypeAdapter(valueAdapter, jsonElementAdapter, valueType);
+    }
+
+    public static Type getValueType(Type lazyComponentType) {
+        if (lazyComponentType instanceof ParameterizedType) {
+            return ((ParameterizedType) lazyComponentType).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static class LazyComponentTypeAdapter extends TypeAdapter<LazyComponent<Object>> {
+        private final TypeAdapter<Object> valueAdapter;
+        private final TypeAdapter<JsonElement> jsonElementAdapter;
+        private final Type valueType;
+
+        public LazyComponentTypeAdapter(TypeAdapter<Object> valueAdapter, TypeAdapter<JsonElement> jsonElementAdapter, Type valueType) {
+            this.valueAdapter = valueAdapter;
+            this.jsonElementAdapter = jsonElementAdapter;
+            this.valueType = valueType;
+        }
+
+        @Override
+        public void write(JsonWriter out, LazyComponent<Object> lazyComponent) throws IOException {
+            if (null == lazyComponent) {
+                out.nullValue();
+                return;
+            }
+            JsonElement unresolvedJsonElement = lazyComponent.getUnresolvedJsonElement();
+            if (null != unresolvedJsonElement) {
+                jsonElementAdapter.write(out, unresolvedJsonElement);
+            } else {
+                valueAdapter.write(out, lazyComponent.get());
+            }
+        }
+
+        @Override
+        public LazyComponent<Object> read(JsonReader in) throws IOException {
+            if (JsonToken.NULL == in.peek()) {
+                in.nextNull();
+                return null;
+            }
+            ComponentJsonBinder.Binding binding = ComponentJsonBinder.getCurrentBinding();
+            if (null != binding && JsonToken.STRING == in.peek()) {
+                String value = in.nextString();
+                JsonElement setAsideValue = binding.getSetAsideValue(value);
+                if (null != setAsideValue) {
+                    return new LazyComponent<>(setAsideValue, valueAdapter, binding.getBinder(), valueType);
+                }
+                return new LazyComponent<>(new JsonPrimitive(value), valueAdapter);
+            }
+            return new LazyComponent<>(jsonElementAdapter.read(in), valueAdapter);
+        }
+
+    }
+
+}
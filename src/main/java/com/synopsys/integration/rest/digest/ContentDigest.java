@@ -0,0 +1,157 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.digest;
+
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.request.Response;
+import com.synopsys.integration.util.Stringable;
+
+/**
+ * The digest of content computed while it was streamed.
+ */
+public class ContentDigest extends Stringable {
+    public static final String DIGEST_HEADER = "Digest";
+    public static final String CONTENT_MD5_HEADER = "Content-MD5";
+
+    private final DigestAlgorithm digestAlgorithm;
+    private final byte[] digest;
+
+    public ContentDigest(DigestAlgorithm digestAlgorithm, byte[] digest) {
+        this.digestAlgorithm = digestAlgorithm;
+        this.digest = digest.clone();
+    }
+
+    public DigestAlgorithm getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+    public byte[] getDigest() {
+        return digest.clone();
+    }
+
+    public String getHex() {
+        return Hex.encodeHexString(digest);
+    }
+
+    public String getBase64() {
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    /**
+     * @param expected The digest as hex or base64
+     */
+    public boolean matches(String expected) {
+        String trimmed = StringUtils.trimToEmpty(expected);
+        return getHex().equalsIgnoreCase(trimmed) || getBase64().equals(trimmed);
+    }
+
+    /**
+     * Checks the digest against the expected value or, when there is none, against what the response advertises: a Digest header for the algorithm,
+     * or for MD5 a Content-MD5 header on a complete response.
+     * @return true if there was a value to check against, false if nothing was advertised
+     * @throws IntegrationException if the values do not match
+     */
+    public boolean verify(String expected, Response response) throws IntegrationException {
+        return verify(expected, response, false);
+    }
+
+    /**
+     * Checks the digest as {@link #verify(String, Response)} does.
+     * @param trustETag If true, for MD5 an ETag that looks like a plain MD5 is also checked against. Only servers known to use the MD5 of the content
+     *                  as their ETag should be trusted, as any other 32 hex character ETag would not match.
+     */
+    public boolean verify(String expected, Response response, boolean trustETag) throws IntegrationException {
+        String advertised = StringUtils.isNotBlank(expected) ? expected : findAdvertisedValue(response, true, trustETag).orElse(null);
+        return verifyAdvertised(advertised);
+    }
+
+    /**
+     * Checks the digest of content that was sent against what the server answered about it: a Digest header for the algorithm, or for MD5 a
+     * Content-MD5 header.
+     * @param trustETag If true, for MD5 an ETag that looks like a plain MD5 is also checked against, as some object stores answer an upload with one
+     * @return true if there was a value to check against, false if nothing was answered
+     * @throws IntegrationException if the values do not match
+     */
+    public boolean verifyUpload(Response response, boolean trustETag) throws IntegrationException {
+        return verifyAdvertised(findAdvertisedValue(response, false, trustETag).orElse(null));
+    }
+
+    private boolean verifyAdvertised(String advertised) throws IntegrationException {
+        if (null == advertised) {
+            return false;
+        }
+        if (!matches(advertised)) {
+            throw new IntegrationException(String.format("The %s digest of the content was %s but %s was expected.", digestAlgorithm.getAlgorithmName(), getHex(), advertised));
+        }
+        return true;
+    }
+
+    /**
+     * @param completeResponse If true, a Content-MD5 header is only used when the response holds the complete content
+     */
+    private Optional<String> findAdvertisedValue(Response response, boolean completeResponse, boolean trustETag) {
+        if (null == response) {
+            return Optional.empty();
+        }
+
+        String digestHeader = response.getHeaderValue(DIGEST_HEADER);
+        if (StringUtils.isNotBlank(digestHeader)) {
+            // Digest: sha-256=X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=,md5=...
+            for (String instanceDigest : digestHeader.split(",")) {
+                String algorithm = StringUtils.substringBefore(instanceDigest, "=").trim();
+                if (digestAlgorithm.getAlgorithmName().equalsIgnoreCase(algorithm)) {
+                    return Optional.of(StringUtils.substringAfter(instanceDigest, "=").trim());
+                }
+            }
+        }
+
+        if (DigestAlgorithm.MD5 == digestAlgorithm) {
+            String contentMd5 = response.getHeaderValue(CONTENT_MD5_HEADER);
+            if (StringUtils.isNotBlank(contentMd5) && (!completeResponse || Integer.valueOf(RestConstants.OK_200).equals(response.getStatusCode()))) {
+                return Optional.of(contentMd5);
+            }
+            if (trustETag) {
+                // a weak ETag does not promise identical bytes
+                String eTag = StringUtils.strip(StringUtils.trimToEmpty(response.getHeaderValue(HttpHeaders.ETAG)), "\"");
+                if (32 == eTag.length() && StringUtils.containsOnly(eTag.toLowerCase(), "0123456789abcdef")) {
+                    return Optional.of(eTag);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static ContentDigest of(DigestAlgorithm digestAlgorithm, MessageDigest messageDigest) {
+        return new ContentDigest(digestAlgorithm, messageDigest.digest());
+    }
+
+}
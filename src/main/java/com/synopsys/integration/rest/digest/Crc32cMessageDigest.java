@@ -0,0 +1,84 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.digest;
+
+import java.security.MessageDigest;
+
+/**
+ * CRC-32C (Castagnoli), which the JDK only provides from Java 9, as a MessageDigest so it can be used with the digest streams. The digest is the
+ * four bytes of the checksum in big-endian order.
+ */
+public class Crc32cMessageDigest extends MessageDigest {
+    private static final int POLYNOMIAL = 0x82F63B78;
+    private static final int[] TABLE = createTable();
+
+    private int crc = 0xFFFFFFFF;
+
+    public Crc32cMessageDigest() {
+        super(DigestAlgorithm.CRC32C.getAlgorithmName());
+    }
+
+    private static int[] createTable() {
+        int[] table = new int[256];
+        for (int i = 0; i < table.length; i++) {
+            int value = i;
+            for (int bit = 0; bit < 8; bit++) {
+                value = 0 != (value & 1) ? (value >>> 1) ^ POLYNOMIAL : value >>> 1;
+            }
+            table[i] = value;
+        }
+        return table;
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return 4;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ input) & 0xFF];
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        int value = crc;
+        for (int i = offset; i < offset + len; i++) {
+            value = (value >>> 8) ^ TABLE[(value ^ input[i]) & 0xFF];
+        }
+        crc = value;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        int value = ~crc;
+        engineReset();
+        return new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+    }
+
+    @Override
+    protected void engineReset() {
+        crc = 0xFFFFFFFF;
+    }
+
+}
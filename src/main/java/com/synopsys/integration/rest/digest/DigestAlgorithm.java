@@ -0,0 +1,58 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.digest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public enum DigestAlgorithm {
+    SHA_256("SHA-256"),
+    MD5("MD5"),
+    CRC32C("CRC32C");
+
+    private final String algorithmName;
+
+    DigestAlgorithm(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+
+    /**
+     * @return The name used by MessageDigest and by the Digest header
+     */
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public MessageDigest createMessageDigest() {
+        if (CRC32C == this) {
+            return new Crc32cMessageDigest();
+        }
+        try {
+            return MessageDigest.getInstance(algorithmName);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256 and MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
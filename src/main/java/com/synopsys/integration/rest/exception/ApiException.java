@@ -34,6 +34,12 @@ public class ApiException extends IntegrationException {
         this.errorCode = errorCode;
     }
 
+    public ApiException(final IntegrationRestException originalIntegrationRestException, final String errorMessage, final String errorCode, final boolean writableStackTrace) {
+        super(errorMessage, null, true, writableStackTrace);
+        this.originalIntegrationRestException = originalIntegrationRestException;
+        this.errorCode = errorCode;
+    }
+
     public IntegrationRestException getOriginalIntegrationRestException() {
         return originalIntegrationRestException;
     }
@@ -22,7 +22,12 @@
  */
 package com.synopsys.integration.rest.exception;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpStatusClassification;
 
 public class IntegrationRestException extends IntegrationException {
     private static final long serialVersionUID = 1L;
@@ -30,6 +35,8 @@ public class IntegrationRestException extends IntegrationException {
     private final int httpStatusCode;
     private final String httpStatusMessage;
     private final String httpResponseContent;
+    private transient Supplier<String> messageSupplier;
+    private volatile String suppliedMessage;
 
     public IntegrationRestException(int httpStatusCode, String httpStatusMessage, String httpResponseContent, String message, Throwable cause, boolean enableSuppression,
             boolean writableStackTrace) {
@@ -60,10 +67,42 @@ public class IntegrationRestException extends IntegrationException {
         this.httpResponseContent = httpResponseContent;
     }
 
+    /**
+     * Creates an exception whose message is only built when it is first read, for statuses that are expected and usually caught without looking at
+     * the message.
+     */
+    public IntegrationRestException(int httpStatusCode, String httpStatusMessage, String httpResponseContent, Supplier<String> messageSupplier, boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.httpStatusCode = httpStatusCode;
+        this.httpStatusMessage = httpStatusMessage;
+        this.httpResponseContent = httpResponseContent;
+        this.messageSupplier = messageSupplier;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = suppliedMessage;
+        if (null == message && null != messageSupplier) {
+            message = messageSupplier.get();
+            suppliedMessage = message;
+        }
+        return null == message ? super.getMessage() : message;
+    }
+
+    private void writeObject(ObjectOutputStream outputStream) throws IOException {
+        // the supplier is not serializable, so the message has to be built before it is lost
+        getMessage();
+        outputStream.defaultWriteObject();
+    }
+
     public int getHttpStatusCode() {
         return httpStatusCode;
     }
 
+    public HttpStatusClassification getHttpStatusClassification() {
+        return HttpStatusClassification.classify(httpStatusCode);
+    }
+
     public String getHttpStatusMessage() {
         return httpStatusMessage;
     }
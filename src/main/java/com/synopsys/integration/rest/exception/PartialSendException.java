@@ -0,0 +1,49 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.exception;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Thrown when some of a group of requests were sent and others failed, so the ones that were delivered are not counted as failed.
+ */
+public class PartialSendException extends IntegrationException {
+    private static final long serialVersionUID = 1L;
+
+    private final int failedCount;
+
+    public PartialSendException(int failedCount, String message, Throwable cause) {
+        super(message, cause);
+        this.failedCount = failedCount;
+    }
+
+    public PartialSendException(int failedCount, String message) {
+        super(message);
+        this.failedCount = failedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+}
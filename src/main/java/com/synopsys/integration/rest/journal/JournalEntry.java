@@ -0,0 +1,223 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.http.entity.ContentType;
+
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.body.ByteArrayBodyContent;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.util.Stringable;
+
+/**
+ * A request as it was written to the {@link RequestJournal}, with its body already serialized.
+ */
+public class JournalEntry extends Stringable {
+    private final long sequence;
+    private final String idempotencyKey;
+    private final HttpMethod method;
+    private final String uri;
+    private final Map<String, Set<String>> queryParameters;
+    private final Map<String, String> additionalHeaders;
+    private final String mimeType;
+    private final String bodyEncoding;
+    private final String bodyContentType;
+    private final byte[] body;
+
+    public JournalEntry(long sequence, String idempotencyKey, HttpMethod method, String uri, Map<String, Set<String>> queryParameters, Map<String, String> additionalHeaders, String mimeType, String bodyEncoding,
+        String bodyContentType, byte[] body) {
+        this.sequence = sequence;
+        this.idempotencyKey = idempotencyKey;
+        this.method = method;
+        this.uri = uri;
+        this.queryParameters = null == queryParameters ? Collections.emptyMap() : queryParameters;
+        this.additionalHeaders = null == additionalHeaders ? Collections.emptyMap() : additionalHeaders;
+        this.mimeType = mimeType;
+        this.bodyEncoding = bodyEncoding;
+        this.bodyContentType = bodyContentType;
+        this.body = body;
+    }
+
+    /**
+     * @param idempotencyHeader The header that carries the idempotency key, so the server can ignore a request it has already applied
+     */
+    public Request toRequest(String idempotencyHeader) {
+        Map<String, String> headers = new HashMap<>(additionalHeaders);
+        headers.put(idempotencyHeader, idempotencyKey);
+
+        Request.Builder builder = new Request.Builder(uri)
+                                      .method(method)
+                                      .queryParameters(new HashMap<>(queryParameters))
+                                      .additionalHeaders(headers);
+        if (null != mimeType) {
+            builder.mimeType(mimeType);
+        }
+        if (null != bodyEncoding) {
+            builder.bodyEncoding(Charset.forName(bodyEncoding));
+        }
+        if (null != body) {
+            builder.bodyContent(new ByteArrayBodyContent(body, null == bodyContentType ? null : ContentType.parse(bodyContentType)));
+        }
+        return builder.build();
+    }
+
+    byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeLong(sequence);
+        writeString(output, idempotencyKey);
+        writeString(output, method.name());
+        writeString(output, uri);
+        output.writeInt(queryParameters.size());
+        for (Map.Entry<String, Set<String>> queryParameter : queryParameters.entrySet()) {
+            writeString(output, queryParameter.getKey());
+            output.writeInt(queryParameter.getValue().size());
+            for (String value : queryParameter.getValue()) {
+                writeString(output, value);
+            }
+        }
+        output.writeInt(additionalHeaders.size());
+        for (Map.Entry<String, String> header : additionalHeaders.entrySet()) {
+            writeString(output, header.getKey());
+            writeString(output, header.getValue());
+        }
+        writeString(output, mimeType);
+        writeString(output, bodyEncoding);
+        writeString(output, bodyContentType);
+        writeBytes(output, body);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    static JournalEntry fromBytes(byte[] bytes) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        long sequence = input.readLong();
+        String idempotencyKey = readString(input);
+        HttpMethod method = HttpMethod.valueOf(readString(input));
+        String uri = readString(input);
+        int queryParameterCount = input.readInt();
+        Map<String, Set<String>> queryParameters = new LinkedHashMap<>();
+        for (int i = 0; i < queryParameterCount; i++) {
+            String key = readString(input);
+            int valueCount = input.readInt();
+            Set<String> values = new LinkedHashSet<>();
+            for (int j = 0; j < valueCount; j++) {
+                values.add(readString(input));
+            }
+            queryParameters.put(key, values);
+        }
+        int headerCount = input.readInt();
+        Map<String, String> additionalHeaders = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            additionalHeaders.put(readString(input), readString(input));
+        }
+        String mimeType = readString(input);
+        String bodyEncoding = readString(input);
+        String bodyContentType = readString(input);
+        byte[] body = readBytes(input);
+        return new JournalEntry(sequence, idempotencyKey, method, uri, queryParameters, additionalHeaders, mimeType, bodyEncoding, bodyContentType, body);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        writeBytes(output, null == value ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+        if (null == value) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(value.length);
+            output.write(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = readBytes(input);
+        return null == bytes ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public Map<String, Set<String>> getQueryParameters() {
+        return Collections.unmodifiableMap(queryParameters);
+    }
+
+    public Map<String, String> getAdditionalHeaders() {
+        return Collections.unmodifiableMap(additionalHeaders);
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getBodyEncoding() {
+        return bodyEncoding;
+    }
+
+    public String getBodyContentType() {
+        return bodyContentType;
+    }
+
+    public byte[] getBody() {
+        return null == body ? null : body.clone();
+    }
+
+}
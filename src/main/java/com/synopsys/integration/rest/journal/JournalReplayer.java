@@ -0,0 +1,140 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.journal;
+
+import java.io.IOException;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.HttpStatusClassification;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Sends requests through a {@link RequestJournal}, and sends its pending entries again, oldest first, each with its idempotency key in a header. An entry is acknowledged once the
+ * server accepts it, or rejects it in a way that sending it again would not change. Replaying stops at the first entry that could not be delivered,
+ * an unreachable server, an authentication failure or a status worth retrying, so it can be run again once the server is back.
+ */
+public class JournalReplayer {
+    public static final String DEFAULT_IDEMPOTENCY_HEADER = "Idempotency-Key";
+
+    private final IntLogger logger;
+    private final IntHttpClient intHttpClient;
+    private final RequestJournal requestJournal;
+    private final String idempotencyHeader;
+
+    public JournalReplayer(IntLogger logger, IntHttpClient intHttpClient, RequestJournal requestJournal) {
+        this(logger, intHttpClient, requestJournal, DEFAULT_IDEMPOTENCY_HEADER);
+    }
+
+    public JournalReplayer(IntLogger logger, IntHttpClient intHttpClient, RequestJournal requestJournal, String idempotencyHeader) {
+        this.logger = logger;
+        this.intHttpClient = intHttpClient;
+        this.requestJournal = requestJournal;
+        this.idempotencyHeader = idempotencyHeader;
+    }
+
+    /**
+     * Appends the request to the journal, sends the entry and acknowledges it the way {@link #replay()} would. This is the only supported way to send
+     * a journaled request: the request as given has no idempotency key, so sending it directly and then replaying it after a crash could apply it
+     * twice. The authentication headers of the request are sent but not journaled, so a replayed entry relies on the client to authenticate it.
+     * @return The response, which the caller must close. An entry that could not be delivered stays in the journal for {@link #replay()}.
+     */
+    public Response send(Request request) throws IntegrationException {
+        JournalEntry entry = requestJournal.append(request);
+        Request.Builder builder = new Request.Builder(entry.toRequest(idempotencyHeader));
+        if (null != request.getAdditionalHeaders()) {
+            request.getAdditionalHeaders().forEach((name, value) -> {
+                if (RequestJournal.isAuthenticationHeader(name)) {
+                    builder.addAdditionalHeader(name, value);
+                }
+            });
+        }
+        Response response = intHttpClient.execute(builder.build());
+        if (!isWorthRetrying(response.getStatusClassification())) {
+            requestJournal.acknowledge(entry);
+        }
+        return response;
+    }
+
+    public ReplayResult replay() throws IntegrationException {
+        int delivered = 0;
+        int rejected = 0;
+        for (JournalEntry entry : requestJournal.getPendingEntries()) {
+            try (Response response = intHttpClient.execute(entry.toRequest(idempotencyHeader))) {
+                HttpStatusClassification classification = response.getStatusClassification();
+                if (isWorthRetrying(classification)) {
+                    logger.debug(String.format("Stopped replaying the journal at %s %s, the server answered %d", entry.getMethod(), entry.getUri(), response.getStatusCode()));
+                    return new ReplayResult(delivered, rejected, requestJournal.getPendingCount());
+                }
+                if (classification.isError()) {
+                    logger.error(String.format("The server rejected the journaled request %s %s with %d, it will not be sent again", entry.getMethod(), entry.getUri(), response.getStatusCode()));
+                    rejected++;
+                } else {
+                    delivered++;
+                }
+            } catch (IntegrationException | IOException e) {
+                logger.debug(String.format("Stopped replaying the journal at %s %s: %s", entry.getMethod(), entry.getUri(), e.getMessage()));
+                return new ReplayResult(delivered, rejected, requestJournal.getPendingCount());
+            }
+            requestJournal.acknowledge(entry);
+        }
+        return new ReplayResult(delivered, rejected, requestJournal.getPendingCount());
+    }
+
+    private boolean isWorthRetrying(HttpStatusClassification classification) {
+        return HttpStatusClassification.RETRYABLE == classification || HttpStatusClassification.SERVER == classification || HttpStatusClassification.AUTH == classification
+                   || HttpStatusClassification.UNKNOWN == classification;
+    }
+
+    public static class ReplayResult {
+        private final int deliveredCount;
+        private final int rejectedCount;
+        private final int remainingCount;
+
+        public ReplayResult(int deliveredCount, int rejectedCount, int remainingCount) {
+            this.deliveredCount = deliveredCount;
+            this.rejectedCount = rejectedCount;
+            this.remainingCount = remainingCount;
+        }
+
+        public int getDeliveredCount() {
+            return deliveredCount;
+        }
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        }
+
+        public int getRemainingCount() {
+            return remainingCount;
+        }
+
+        public boolean isComplete() {
+            return remainingCount == 0;
+        }
+
+    }
+
+}
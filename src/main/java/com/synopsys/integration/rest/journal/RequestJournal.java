@@ -0,0 +1,334 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.util.EntityUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * A persistent, append-only log of outbound requests, kept in a memory-mapped file. Requests are appended before they are sent and acknowledged
+ * once the server has them, so the requests that were not yet sent survive a restart and can be sent by a {@link JournalReplayer}. Requests should
+ * only be sent through {@link JournalReplayer#send(Request)}, which sends them with the idempotency key that makes sending them again safe.
+ * <br/>
+ * Authentication headers, such as Authorization, Proxy-Authorization and token headers, are not written to the log, so credentials are not left
+ * on disk. The client that sends an entry has to authenticate it again.
+ * <br/>
+ * Every record is a length, a CRC32 and the record itself; a record that was only partly written when the process stopped ends the log when it is
+ * reopened. Appends use group commit: an append returns once its record has been forced to disk, and one force covers every record written
+ * before it, so concurrent appends share the cost of syncing. Acknowledgements are not forced on their own. One that is lost in a crash causes the
+ * request to be sent again, which the idempotency key of the entry makes safe. When every entry has been acknowledged the log starts over.
+ */
+public class RequestJournal implements Closeable {
+    public static final int DEFAULT_INITIAL_SIZE = 1024 * 1024;
+
+    private static final byte APPEND_RECORD = 1;
+    private static final byte ACKNOWLEDGE_RECORD = 2;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final String COOKIE_HEADER = "Cookie";
+
+    private final Path path;
+    private final FileChannel fileChannel;
+    private final Object appendLock = new Object();
+    private final Object forceLock = new Object();
+    private final Map<Long, JournalEntry> pendingEntries = new LinkedHashMap<>();
+
+    private volatile MappedByteBuffer mappedBuffer;
+    private volatile long writePosition;
+    private long durablePosition;
+    private long nextSequence = 1;
+    private boolean closed;
+
+    public RequestJournal(Path path) throws IntegrationException {
+        this(path, DEFAULT_INITIAL_SIZE);
+    }
+
+    public RequestJournal(Path path, int initialSize) throws IntegrationException {
+        this.path = path;
+        try {
+            fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, fileChannel.size()));
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not open the request journal %s: %s", path, e.getMessage()), e);
+        }
+        recover();
+        durablePosition = writePosition;
+    }
+
+    /**
+     * Writes the request, with a new idempotency key, and waits for it to be on disk.
+     */
+    public JournalEntry append(Request request) throws IntegrationException {
+        return append(request, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Writes the request, without its authentication headers, and waits for it to be on disk. The body is serialized, so a request with a body that
+     * can only be read once should not be sent any other way.
+     */
+    public JournalEntry append(Request request, String idempotencyKey) throws IntegrationException {
+        byte[] body = null;
+        String bodyContentType = null;
+        HttpEntity entity = request.createHttpEntity();
+        if (null != entity) {
+            try {
+                body = EntityUtils.toByteArray(entity);
+            } catch (IOException e) {
+                throw new IntegrationException(String.format("Could not serialize the body of %s for the journal: %s", request.getUri(), e.getMessage()), e);
+            }
+            Header contentType = entity.getContentType();
+            bodyContentType = null == contentType ? null : contentType.getValue();
+        }
+
+        JournalEntry entry;
+        long recordEnd;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IntegrationException(String.format("The journal %s is closed", path));
+            }
+            entry = new JournalEntry(nextSequence++, idempotencyKey, request.getMethod(), request.getUri(), request.getPopulatedQueryParameters(), withoutAuthenticationHeaders(request.getAdditionalHeaders()),
+                request.getMimeType(),
+                null == request.getBodyEncoding() ? null : request.getBodyEncoding().name(), bodyContentType, body);
+            try {
+                recordEnd = writeRecord(APPEND_RECORD, entry.toBytes());
+            } catch (IOException e) {
+                throw new IntegrationException(String.format("Could not write %s to the journal %s: %s", request.getUri(), path, e.getMessage()), e);
+            }
+            pendingEntries.put(entry.getSequence(), entry);
+        }
+        force(recordEnd);
+        return entry;
+    }
+
+    /**
+     * Records that the server has the request. Acknowledging an entry that is not pending does nothing.
+     */
+    public void acknowledge(JournalEntry entry) throws IntegrationException {
+        synchronized (appendLock) {
+            if (closed || null == pendingEntries.remove(entry.getSequence())) {
+                return;
+            }
+            try {
+                if (pendingEntries.isEmpty()) {
+                    reset();
+                } else {
+                    writeRecord(ACKNOWLEDGE_RECORD, ByteBuffer.allocate(Long.BYTES).putLong(entry.getSequence()).array());
+                }
+            } catch (IOException e) {
+                throw new IntegrationException(String.format("Could not write to the journal %s: %s", path, e.getMessage()), e);
+            }
+        }
+    }
+
+    /**
+     * @return The entries that have not been acknowledged, oldest first
+     */
+    public List<JournalEntry> getPendingEntries() {
+        synchronized (appendLock) {
+            return new ArrayList<>(pendingEntries.values());
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (appendLock) {
+            return pendingEntries.size();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synchronized (forceLock) {
+                mappedBuffer.force();
+                fileChannel.close();
+            }
+        }
+    }
+
+    /**
+     * @return true for Authorization, Proxy-Authorization, Cookie and any header with token in its name, such as X-CSRF-TOKEN
+     */
+    static boolean isAuthenticationHeader(String name) {
+        return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) || HttpHeaders.PROXY_AUTHORIZATION.equalsIgnoreCase(name) || COOKIE_HEADER.equalsIgnoreCase(name)
+                   || StringUtils.containsIgnoreCase(name, "token");
+    }
+
+    private Map<String, String> withoutAuthenticationHeaders(Map<String, String> additionalHeaders) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (null != additionalHeaders) {
+            additionalHeaders.forEach((name, value) -> {
+                if (!isAuthenticationHeader(name)) {
+                    headers.put(name, value);
+                }
+            });
+        }
+        return headers;
+    }
+
+    private void recover() throws IntegrationException {
+        ByteBuffer buffer = mappedBuffer.duplicate();
+        long position = 0;
+        while (position + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt((int) position);
+            if (length <= 0 || position + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            int checksum = buffer.getInt((int) position + 4);
+            byte[] record = new byte[length];
+            buffer.position((int) position + RECORD_HEADER_BYTES);
+            buffer.get(record);
+            if (checksum != checksum(record)) {
+                // the tail of a write that did not finish
+                break;
+            }
+            try {
+                readRecord(record);
+            } catch (IOException | RuntimeException e) {
+                throw new IntegrationException(String.format("The journal %s has an unreadable record at %d: %s", path, position, e.getMessage()), e);
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        writePosition = position;
+        // anything after the last whole record is cleared so it can not be mistaken for a record later
+        clear(position, buffer.capacity());
+    }
+
+    private void readRecord(byte[] record) throws IOException {
+        byte[] payload = new byte[record.length - 1];
+        System.arraycopy(record, 1, payload, 0, payload.length);
+        if (APPEND_RECORD == record[0]) {
+            JournalEntry entry = JournalEntry.fromBytes(payload);
+            pendingEntries.put(entry.getSequence(), entry);
+            nextSequence = Math.max(nextSequence, entry.getSequence() + 1);
+        } else if (ACKNOWLEDGE_RECORD == record[0]) {
+            pendingEntries.remove(ByteBuffer.wrap(payload).getLong());
+        } else {
+            throw new IOException("Unknown record type " + record[0]);
+        }
+    }
+
+    /**
+     * Called holding the append lock.
+     * @return The position after the record
+     */
+    private long writeRecord(byte type, byte[] payload) throws IOException {
+        byte[] record = new byte[payload.length + 1];
+        record[0] = type;
+        System.arraycopy(payload, 0, record, 1, payload.length);
+
+        long recordEnd = writePosition + RECORD_HEADER_BYTES + record.length;
+        // the bytes after the last record must stay zero, so there is always room for an empty length
+        ensureCapacity(recordEnd + Integer.BYTES);
+
+        ByteBuffer buffer = mappedBuffer.duplicate();
+        buffer.position((int) writePosition + RECORD_HEADER_BYTES);
+        buffer.put(record);
+        buffer.putInt((int) writePosition + 4, checksum(record));
+        // the length goes last, a record without its length is not read back
+        buffer.putInt((int) writePosition, record.length);
+        writePosition = recordEnd;
+        return recordEnd;
+    }
+
+    private void ensureCapacity(long capacity) throws IOException {
+        if (capacity <= mappedBuffer.capacity()) {
+            return;
+        }
+        long newSize = Math.max(capacity, 2L * mappedBuffer.capacity());
+        if (newSize > Integer.MAX_VALUE) {
+            throw new IOException("The journal can not grow past 2GB, acknowledge the pending requests before appending more");
+        }
+        synchronized (forceLock) {
+            mappedBuffer.force();
+            durablePosition = writePosition;
+            mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        }
+    }
+
+    /**
+     * Called holding the append lock, with nothing pending.
+     */
+    private void reset() {
+        synchronized (forceLock) {
+            clear(0, writePosition);
+            mappedBuffer.force();
+            writePosition = 0;
+            durablePosition = 0;
+        }
+    }
+
+    private void clear(long from, long to) {
+        ByteBuffer buffer = mappedBuffer.duplicate();
+        byte[] zeros = new byte[8192];
+        buffer.position((int) from);
+        while (buffer.position() < to) {
+            buffer.put(zeros, 0, (int) Math.min(zeros.length, to - buffer.position()));
+        }
+    }
+
+    private void force(long position) {
+        synchronized (forceLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            // covers every record written up to now, including those of appends waiting for this lock
+            long target = writePosition;
+            mappedBuffer.force();
+            durablePosition = target;
+        }
+    }
+
+    private int checksum(byte[] record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record, 0, record.length);
+        return (int) crc32.getValue();
+    }
+
+}
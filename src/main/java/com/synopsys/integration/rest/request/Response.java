@@ -22,10 +22,20 @@
  */
 package com.synopsys.integration.rest.request;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -40,16 +50,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.EnglishReasonPhraseCatalog;
 import org.apache.http.impl.client.CloseableHttpClient;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpStatusClassification;
 import com.synopsys.integration.rest.RestConstants;
 import com.synopsys.integration.rest.exception.IntegrationRestException;
 
 public class Response implements Closeable {
     public static final String LAST_MODIFIED_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
     public static final String LAST_MODIFIED_HEADER_KEY = "Last-Modified";
+    public static final int DEFAULT_TRANSFER_BUFFER_SIZE = 1024 * 1024;
+    public static final int MINIMUM_TRANSFER_BUFFER_SIZE = 8 * 1024;
 
     private final HttpUriRequest request;
     private final CloseableHttpClient client;
@@ -86,6 +100,10 @@ public class Response implements Closeable {
         return !isStatusCodeOkay();
     }
 
+    public HttpStatusClassification getStatusClassification() {
+        return HttpStatusClassification.classify(getStatusCode());
+    }
+
     public String getStatusMessage() {
         if (response.getStatusLine() != null) {
             return response.getStatusLine().getReasonPhrase();
@@ -122,6 +140,118 @@ public class Response implements Closeable {
         }
     }
 
+    /**
+     * Reads at most maxBytes of the content, leaving the rest unread. A multi-byte character cut at the limit is dropped.
+     * <p>
+     * If content is left, the underlying response is closed without closing the content stream first, since closing that stream would read the rest
+     * of the content to reuse the connection. The connection is then discarded instead.
+     */
+    public String getContentString(Charset encoding, int maxBytes) throws IntegrationException {
+        if (response.getEntity() == null) {
+            return null;
+        }
+        InputStream inputStream = null;
+        boolean complete = false;
+        try {
+            inputStream = response.getEntity().getContent();
+            if (null == inputStream) {
+                return null;
+            }
+            byte[] buffer = new byte[Math.min(maxBytes, 8192)];
+            ByteArrayOutputStream content = new ByteArrayOutputStream(buffer.length);
+            int read = 0;
+            while (content.size() < maxBytes && -1 != (read = inputStream.read(buffer, 0, Math.min(buffer.length, maxBytes - content.size())))) {
+                content.write(buffer, 0, read);
+            }
+            complete = -1 == read || -1 == inputStream.read();
+            String contentString = new String(content.toByteArray(), encoding);
+            if (!complete) {
+                return StringUtils.removeEnd(contentString, "\uFFFD");
+            }
+            return contentString;
+        } catch (UnsupportedOperationException | IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        } finally {
+            if (complete) {
+                IOUtils.closeQuietly(inputStream);
+            } else {
+                IOUtils.closeQuietly(response);
+            }
+        }
+    }
+
+    /**
+     * @return The charset of the Content-Type header, or UTF-8 if it names none or one that is not supported
+     */
+    public Charset getContentCharset() {
+        try {
+            ContentType contentType = ContentType.get(response.getEntity());
+            if (null != contentType && null != contentType.getCharset()) {
+                return contentType.getCharset();
+            }
+        } catch (org.apache.http.ParseException | UnsupportedCharsetException e) {
+            // fall back to UTF-8 like getContentString()
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Writes the content to the file, replacing anything already there.
+     * @return The number of bytes written
+     */
+    public long writeTo(Path path) throws IntegrationException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return writeTo(fileChannel, 0L);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not write the response to %s: %s", path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Writes the content to the channel starting at the position, through a buffer sized to the content, without changing the position of the channel.
+     * @return The number of bytes written
+     */
+    public long writeTo(FileChannel fileChannel, long position) throws IntegrationException {
+        return writeTo(fileChannel, position, null);
+    }
+
+    /**
+     * @param messageDigest If not null, it is updated with the content as it is written
+     */
+    public long writeTo(FileChannel fileChannel, long position, MessageDigest messageDigest) throws IntegrationException {
+        if (response.getEntity() == null) {
+            return 0L;
+        }
+        try (InputStream inputStream = response.getEntity().getContent(); ReadableByteChannel contentChannel = Channels.newChannel(inputStream)) {
+            ByteBuffer buffer = allocateTransferBuffer(response.getEntity().getContentLength());
+            long written = 0L;
+            while (-1 != contentChannel.read(buffer) || buffer.position() > 0) {
+                buffer.flip();
+                if (null != messageDigest) {
+                    messageDigest.update(buffer.duplicate());
+                }
+                while (buffer.hasRemaining()) {
+                    written += fileChannel.write(buffer, position + written);
+                }
+                buffer.clear();
+            }
+            return written;
+        } catch (UnsupportedOperationException | IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The content arrives as a stream, which can only be read into a heap array, so a heap buffer saves a copy. The file channel writes it through
+     * the temporary direct buffer it keeps for each thread.
+     * @param length The number of bytes to transfer, or a negative number when it is not known
+     * @return A heap buffer no larger than the transfer needs, between {@link #MINIMUM_TRANSFER_BUFFER_SIZE} and {@link #DEFAULT_TRANSFER_BUFFER_SIZE}
+     */
+    public static ByteBuffer allocateTransferBuffer(long length) {
+        long size = 0 > length ? DEFAULT_TRANSFER_BUFFER_SIZE : Math.min(length, DEFAULT_TRANSFER_BUFFER_SIZE);
+        return ByteBuffer.allocate((int) Math.max(size, MINIMUM_TRANSFER_BUFFER_SIZE));
+    }
+
     public Long getContentLength() {
         if (response.getEntity() != null) {
             return response.getEntity().getContentLength();
@@ -193,30 +323,51 @@ public class Response implements Closeable {
     }
 
     public void throwExceptionForError() throws IntegrationRestException {
+        throwExceptionForError(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxContentBytes The most bytes of the error body to read and keep on the exception
+     */
+    public void throwExceptionForError(int maxContentBytes) throws IntegrationRestException {
+        throwExceptionForError(maxContentBytes, true);
+    }
+
+    /**
+     * @param writableStackTrace When false, the exception is created without a stack trace, which is much cheaper for statuses the caller expects
+     */
+    public void throwExceptionForError(int maxContentBytes, boolean writableStackTrace) throws IntegrationRestException {
         if (isStatusCodeError()) {
             Integer statusCode = getStatusCode();
             String statusMessage = getStatusMessage();
             String httpResponseContent;
             try {
-                httpResponseContent = getContentString();
+                httpResponseContent = Integer.MAX_VALUE == maxContentBytes ? getContentString(getContentCharset()) : getContentString(getContentCharset(), maxContentBytes);
             } catch (IntegrationException e) {
                 httpResponseContent = e.getMessage();
             }
 
-            String statusCodeDescription = "Unknown";
-            if (null != statusCode) {
-                statusCodeDescription = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH);
+            if (!writableStackTrace) {
+                // an expected status is usually caught without its message being read, so it is only formatted when it is
+                throw new IntegrationRestException(statusCode, statusMessage, httpResponseContent, () -> createErrorMessage(statusCode, statusMessage), false);
             }
+            throw new IntegrationRestException(statusCode, statusMessage, httpResponseContent, createErrorMessage(statusCode, statusMessage), null, true, true);
+        }
+    }
 
-            String reasonPhraseDescription = "";
-            if (StringUtils.isNotBlank(statusMessage)) {
-                reasonPhraseDescription = String.format(", reason phrase was %s", statusMessage);
-            }
+    private String createErrorMessage(Integer statusCode, String statusMessage) {
+        String statusCodeDescription = "Unknown";
+        if (null != statusCode) {
+            statusCodeDescription = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH);
+        }
 
-            String messageFormat = "There was a problem trying to %s %s, response was %s %s%s.";
-            String message = String.format(messageFormat, request.getMethod(), request.getURI().toString(), statusCode, statusCodeDescription, reasonPhraseDescription);
-            throw new IntegrationRestException(statusCode, statusMessage, httpResponseContent, message);
+        String reasonPhraseDescription = "";
+        if (StringUtils.isNotBlank(statusMessage)) {
+            reasonPhraseDescription = String.format(", reason phrase was %s", statusMessage);
         }
+
+        String messageFormat = "There was a problem trying to %s %s, response was %s %s%s.";
+        return String.format(messageFormat, request.getMethod(), request.getURI().toString(), statusCode, statusCodeDescription, reasonPhraseDescription);
     }
 
 }
@@ -0,0 +1,89 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.response;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Extracts the errorMessage and errorCode of an error body in a single streaming pass. Both fields must be top-level members of a json object.
+ * Parsing stops as soon as both have been read, so a body that was truncated after them still produces an ErrorResponse.
+ */
+public class ErrorResponseDecoder {
+    public static final String ERROR_MESSAGE_KEY = "errorMessage";
+    public static final String ERROR_CODE_KEY = "errorCode";
+
+    public Optional<ErrorResponse> decode(String responseContent) {
+        if (StringUtils.isBlank(responseContent)) {
+            return Optional.empty();
+        }
+
+        boolean foundErrorMessage = false;
+        boolean foundErrorCode = false;
+        String errorMessage = null;
+        String errorCode = null;
+        try (JsonReader jsonReader = new JsonReader(new StringReader(responseContent))) {
+            if (JsonToken.BEGIN_OBJECT != jsonReader.peek()) {
+                return Optional.empty();
+            }
+            jsonReader.beginObject();
+            while (!(foundErrorMessage && foundErrorCode) && jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (ERROR_MESSAGE_KEY.equals(name)) {
+                    errorMessage = nextStringOrNull(jsonReader);
+                    foundErrorMessage = true;
+                } else if (ERROR_CODE_KEY.equals(name)) {
+                    errorCode = nextStringOrNull(jsonReader);
+                    foundErrorCode = true;
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException ignored) {
+            //a body that is not json, or is cut off before both fields, is not an error response
+        }
+
+        if (foundErrorMessage && foundErrorCode && !StringUtils.isAllBlank(errorMessage, errorCode)) {
+            return Optional.of(new ErrorResponse(errorMessage, errorCode));
+        }
+        return Optional.empty();
+    }
+
+    private String nextStringOrNull(JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (JsonToken.NULL == token) {
+            jsonReader.nextNull();
+            return null;
+        } else if (JsonToken.STRING == token || JsonToken.NUMBER == token) {
+            return jsonReader.nextString();
+        }
+        throw new IllegalStateException(String.format("Expected a string but was %s", token));
+    }
+
+}
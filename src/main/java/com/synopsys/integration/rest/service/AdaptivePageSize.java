@@ -0,0 +1,150 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+/**
+ * Chooses the limit of each page request from the time and payload size of the pages already retrieved.
+ * The page size grows or shrinks toward the size that should take the target time to retrieve, but never
+ * changes by more than a factor of two between pages and always stays within the minimum and maximum.
+ * A page shorter than requested while more objects remain is taken as the maximum the server enforces, which is then tried again after a few
+ * full pages at it, so a page that was only short once does not limit the rest of the paging.
+ * An instance can be reused across paged requests to the same endpoint so the next request starts from what was learned.
+ */
+public class AdaptivePageSize {
+    public static final int DEFAULT_INITIAL_PAGE_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_PAGE_SIZE = 10;
+    public static final int DEFAULT_MAXIMUM_PAGE_SIZE = 1000;
+    public static final long DEFAULT_TARGET_PAGE_MILLIS = 2000L;
+    public static final long DEFAULT_MAXIMUM_PAGE_BYTES = 10L * 1024L * 1024L;
+
+    // weight of the newest page in the running per item averages
+    private static final double SMOOTHING = 0.5;
+    private static final int MAXIMUM_GROWTH_FACTOR = 2;
+    private static final int FULL_PAGES_BEFORE_PROBING = 3;
+
+    private final int minimumPageSize;
+    private final long targetPageMillis;
+    private final long maximumPageBytes;
+    private final int configuredMaximumPageSize;
+
+    private int maximumPageSize;
+    private int fullPagesAtMaximum;
+    private int pageSize;
+    private double millisPerItem = -1;
+    private double bytesPerItem = -1;
+
+    public AdaptivePageSize() {
+        this(DEFAULT_INITIAL_PAGE_SIZE, DEFAULT_MINIMUM_PAGE_SIZE, DEFAULT_MAXIMUM_PAGE_SIZE, DEFAULT_TARGET_PAGE_MILLIS, DEFAULT_MAXIMUM_PAGE_BYTES);
+    }
+
+    /**
+     * @param maximumPageSize  The largest limit the server accepts
+     * @param targetPageMillis The time that retrieving a single page should take
+     * @param maximumPageBytes The largest page payload, in bytes, that should be requested
+     */
+    public AdaptivePageSize(int initialPageSize, int minimumPageSize, int maximumPageSize, long targetPageMillis, long maximumPageBytes) {
+        if (minimumPageSize < 1 || maximumPageSize < minimumPageSize) {
+            throw new IllegalArgumentException("The minimum page size must be greater than 0 and no larger than the maximum page size.");
+        }
+        if (targetPageMillis <= 0 || maximumPageBytes <= 0) {
+            throw new IllegalArgumentException("The target page time and the maximum page bytes must be greater than 0.");
+        }
+        this.minimumPageSize = minimumPageSize;
+        this.configuredMaximumPageSize = maximumPageSize;
+        this.maximumPageSize = maximumPageSize;
+        this.targetPageMillis = targetPageMillis;
+        this.maximumPageBytes = maximumPageBytes;
+        this.pageSize = clamp(initialPageSize);
+    }
+
+    public synchronized int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Adjusts the page size from the measurements of a retrieved page.
+     * @param requestedPageSize The limit that was requested
+     * @param itemCount         The number of objects the page contained
+     * @param pageBytes         The size of the page payload in bytes
+     * @param moreItemsRemain   Whether the endpoint has objects beyond this page
+     */
+    public synchronized void recordPage(int requestedPageSize, int itemCount, long elapsedMillis, long pageBytes, boolean moreItemsRemain) {
+        if (itemCount <= 0) {
+            return;
+        }
+        if (moreItemsRemain && itemCount < requestedPageSize) {
+            // the server returned less than was asked for, so it enforces its own maximum
+            maximumPageSize = Math.max(minimumPageSize, itemCount);
+            fullPagesAtMaximum = 0;
+        } else if (itemCount >= requestedPageSize && requestedPageSize >= maximumPageSize && maximumPageSize < configuredMaximumPageSize) {
+            fullPagesAtMaximum++;
+            if (fullPagesAtMaximum >= FULL_PAGES_BEFORE_PROBING) {
+                // the short page may have been a one off, so the next page asks for more again
+                maximumPageSize = (int) Math.min(configuredMaximumPageSize, (long) maximumPageSize * MAXIMUM_GROWTH_FACTOR);
+                fullPagesAtMaximum = 0;
+            }
+        }
+
+        millisPerItem = smooth(millisPerItem, Math.max(elapsedMillis, 1L) / (double) itemCount);
+        bytesPerItem = smooth(bytesPerItem, Math.max(pageBytes, 1L) / (double) itemCount);
+
+        long sizeForTargetTime = (long) (targetPageMillis / millisPerItem);
+        long sizeForMaximumBytes = (long) (maximumPageBytes / bytesPerItem);
+        long idealPageSize = Math.min(sizeForTargetTime, sizeForMaximumBytes);
+
+        long largestStep = (long) requestedPageSize * MAXIMUM_GROWTH_FACTOR;
+        long smallestStep = requestedPageSize / MAXIMUM_GROWTH_FACTOR;
+        pageSize = clamp(Math.max(smallestStep, Math.min(largestStep, idealPageSize)));
+    }
+
+    public int getMinimumPageSize() {
+        return minimumPageSize;
+    }
+
+    /**
+     * @return The configured maximum or, when the server was found to enforce a lower one, that maximum
+     */
+    public synchronized int getMaximumPageSize() {
+        return maximumPageSize;
+    }
+
+    public long getTargetPageMillis() {
+        return targetPageMillis;
+    }
+
+    public long getMaximumPageBytes() {
+        return maximumPageBytes;
+    }
+
+    private double smooth(double average, double measurement) {
+        if (average < 0) {
+            return measurement;
+        }
+        return SMOOTHING * measurement + (1 - SMOOTHING) * average;
+    }
+
+    private int clamp(long size) {
+        return (int) Math.max(minimumPageSize, Math.min(maximumPageSize, size));
+    }
+
+}
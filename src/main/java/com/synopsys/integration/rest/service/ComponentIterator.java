@@ -0,0 +1,89 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.gson.JsonObject;
+import com.synopsys.integration.rest.component.IntRestComponent;
+
+/**
+ * Transforms a stream of json objects into components one at a time, so only the current object is ever held in memory.
+ * Failures to read the stream are thrown as {@link UncheckedIOException} and malformed json as {@link com.google.gson.JsonParseException}.
+ * The iterator must be closed to release the underlying stream.
+ */
+public abstract class ComponentIterator<C extends IntRestComponent> implements Iterator<C>, Closeable {
+    private final IntJsonTransformer intJsonTransformer;
+    private final Type componentType;
+    private final Closeable source;
+
+    private JsonObject nextJsonObject;
+    private boolean finished;
+
+    public ComponentIterator(IntJsonTransformer intJsonTransformer, Type componentType, Closeable source) {
+        this.intJsonTransformer = intJsonTransformer;
+        this.componentType = componentType;
+        this.source = source;
+    }
+
+    /**
+     * @return The next json object of the stream, or null if the stream has no more objects
+     */
+    protected abstract JsonObject readNextJsonObject() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (null == nextJsonObject && !finished) {
+            try {
+                nextJsonObject = readNextJsonObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = null == nextJsonObject;
+        }
+        return !finished;
+    }
+
+    @Override
+    public C next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonObject jsonObject = nextJsonObject;
+        nextJsonObject = null;
+        return intJsonTransformer.transformComponent(jsonObject, componentType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        nextJsonObject = null;
+        source.close();
+    }
+
+}
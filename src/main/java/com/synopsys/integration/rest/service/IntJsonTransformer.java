@@ -22,13 +22,19 @@
  */
 package com.synopsys.integration.rest.service;
 
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -39,20 +45,53 @@ import com.flipkart.zjsonpatch.JsonPatch;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.component.ComponentJsonBinder;
 import com.synopsys.integration.rest.component.IntRestComponent;
 import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.component.JsonTape;
 import com.synopsys.integration.rest.request.Response;
 
 public class IntJsonTransformer {
     private final Gson gson;
     private final IntLogger logger;
+    private final boolean retainCompactJson;
+    private final StringInterner stringInterner;
+    private final TypeAdapter<JsonElement> jsonElementAdapter;
+    private final ComponentJsonBinder componentJsonBinder;
 
     public IntJsonTransformer(final Gson gson, final IntLogger logger) {
+        this(gson, logger, false);
+    }
+
+    /**
+     * @param retainCompactJson If true, transformed components retain a compact {@link JsonTape} of their json instead of the JsonElement tree.
+     *                          {@link IntRestComponent#getJsonElement()} and {@link IntRestComponent#getJson()} then decode it again on every call, and
+     *                          the inner components are bound without their json field.
+     */
+    public IntJsonTransformer(final Gson gson, final IntLogger logger, final boolean retainCompactJson) {
+        this(gson, logger, retainCompactJson, null);
+    }
+
+    /**
+     * @param stringInterner If not null, the field names and string values of all parsed json, and so the String fields of the transformed components, are shared through it
+     */
+    public IntJsonTransformer(final Gson gson, final IntLogger logger, final boolean retainCompactJson, final StringInterner stringInterner) {
         this.gson = gson;
         this.logger = logger;
+        this.retainCompactJson = retainCompactJson;
+        this.stringInterner = stringInterner;
+        this.componentJsonBinder = new ComponentJsonBinder(gson, !retainCompactJson);
+        if (null == stringInterner) {
+            jsonElementAdapter = gson.getAdapter(JsonElement.class);
+        } else {
+            jsonElementAdapter = new InterningJsonElementTypeAdapter(stringInterner, gson.getAdapter(JsonElement.class));
+        }
     }
 
     // =============================
@@ -61,14 +100,51 @@ public class IntJsonTransformer {
 
     public <R extends IntRestResponse> R getResponse(Response response, Type responseType) throws IntegrationException {
         final String json = response.getContentString();
+        return getResponse(json, responseType);
+    }
+
+    public <R extends IntRestResponse> R getResponse(String json, Type responseType) throws IntegrationException {
         final R transformedResponse = getComponentAs(json, responseType);
         transformedResponse.setGson(gson);
         return transformedResponse;
     }
 
+    public <R extends IntRestResponse> R getResponse(JsonObject jsonObject, Type responseType) throws IntegrationException {
+        final R transformedResponse = getComponentAs(jsonObject, responseType);
+        transformedResponse.setGson(gson);
+        return transformedResponse;
+    }
+
+    /**
+     * Materializes only the parts of the response body described by the projection before transforming it. Every other value is skipped while streaming.
+     */
+    public <R extends IntRestResponse> R getResponse(Response response, Type responseType, JsonProjection projection) throws IntegrationException {
+        final JsonObject jsonObject = getProjectedJsonObject(response, projection);
+        final R transformedResponse = getComponentAs(jsonObject, responseType);
+        transformedResponse.setGson(gson);
+        return transformedResponse;
+    }
+
+    public JsonObject getProjectedJsonObject(Response response, JsonProjection projection) throws IntegrationException {
+        try (final InputStream inputStream = response.getContent()) {
+            if (null == inputStream) {
+                throw new IntegrationException("The response has no content to project.");
+            }
+            final JsonReader jsonReader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            final JsonElement jsonElement = projection.read(jsonReader, jsonElementAdapter);
+            if (!jsonElement.isJsonObject()) {
+                throw new IntegrationException(String.format("Expected the projected json to be an object, but it was: %s", jsonElement));
+            }
+            return jsonElement.getAsJsonObject();
+        } catch (final IOException | JsonParseException | IllegalStateException e) {
+            logger.error(String.format("Could not project the json of the response to %s", response.getRequest().getURI()));
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
     public <C extends IntRestComponent> C getComponentAs(String json, Type responseType) throws IntegrationException {
         try {
-            final JsonObject jsonElement = gson.fromJson(json, JsonObject.class);
+            final JsonObject jsonElement = parseJsonObject(json);
             return getComponentAs(jsonElement, responseType);
         } catch (final JsonSyntaxException e) {
             logger.error(String.format("Could not parse the provided json with Gson:%s%s", System.lineSeparator(), json));
@@ -77,34 +153,112 @@ public class IntJsonTransformer {
     }
 
     public <C extends IntRestComponent> C getComponentAs(JsonObject jsonObject, Type responseType) throws IntegrationException {
-        final String json = gson.toJson(jsonObject);
         try {
-            addJsonAsField(jsonObject);
-            C transformedResponse = gson.fromJson(jsonObject, responseType);
-
-            // Set the JsonElement of only the root object
-            transformedResponse.setJsonElement(jsonObject);
-            return transformedResponse;
+            return transformComponent(jsonObject, responseType);
         } catch (final JsonSyntaxException e) {
-            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), json));
+            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), gson.toJson(jsonObject)));
             throw new IntegrationException(e.getMessage(), e);
         }
     }
 
-    // Recursively add json as field of every inner object
-    private void addJsonAsField(JsonElement jsonElement) {
-        if (jsonElement.isJsonObject()) {
-            final JsonObject innerObject = jsonElement.getAsJsonObject();
-            final String innerObjectJson = gson.toJson(innerObject);
-            innerObject.addProperty(IntRestComponent.FIELD_NAME_JSON, innerObjectJson);
-            for (final Map.Entry<String, JsonElement> innerObjectFields : innerObject.entrySet()) {
-                addJsonAsField(innerObjectFields.getValue());
-            }
-        } else if (jsonElement.isJsonArray()) {
-            for (final JsonElement arrayElement : jsonElement.getAsJsonArray()) {
-                addJsonAsField(arrayElement);
+    // =========================
+    // Streaming Transformation
+    // =========================
+
+    /**
+     * Streams the objects of the json array at the dot separated arrayPath of the response content, or of the top level array if the path is blank.
+     * Closing the iterator closes the response content but not the response.
+     */
+    public <C extends IntRestComponent> JsonArrayComponentIterator<C> getComponentIterator(Response response, String arrayPath, Type componentType) throws IntegrationException {
+        final InputStream inputStream = getStreamableContent(response);
+        final JsonReader jsonReader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new JsonArrayComponentIterator<>(this, componentType, jsonReader, arrayPath, inputStream);
+    }
+
+    /**
+     * Like {@link #getComponentIterator(Response, String, Type)}, but the given source is closed, instead of the response content, when the iterator is closed.
+     */
+    public <C extends IntRestComponent> JsonArrayComponentIterator<C> getComponentIterator(Response response, String arrayPath, Type componentType, Closeable source) throws IntegrationException {
+        final InputStream inputStream = getStreamableContent(response);
+        final JsonReader jsonReader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new JsonArrayComponentIterator<>(this, componentType, jsonReader, arrayPath, source);
+    }
+
+    /**
+     * Streams line delimited json (application/x-ndjson) content, decoding each line into a component as it arrives.
+     * Closing the iterator closes the response content but not the response.
+     */
+    public <C extends IntRestComponent> NdjsonComponentIterator<C> getNdjsonComponentIterator(Response response, Type componentType) throws IntegrationException {
+        final InputStream inputStream = getStreamableContent(response);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new NdjsonComponentIterator<>(this, componentType, reader, inputStream);
+    }
+
+    /**
+     * Like {@link #getNdjsonComponentIterator(Response, Type)}, but the given source is closed, instead of the response content, when the iterator is closed.
+     */
+    public <C extends IntRestComponent> NdjsonComponentIterator<C> getNdjsonComponentIterator(Response response, Type componentType, Closeable source) throws IntegrationException {
+        final InputStream inputStream = getStreamableContent(response);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new NdjsonComponentIterator<>(this, componentType, reader, source);
+    }
+
+    private JsonObject parseJsonObject(String json) {
+        if (null == stringInterner) {
+            return gson.fromJson(json, JsonObject.class);
+        }
+        try {
+            final JsonReader jsonReader = new JsonReader(new StringReader(json));
+            jsonReader.setLenient(true);
+            final JsonElement jsonElement = jsonElementAdapter.read(jsonReader);
+            if (!jsonElement.isJsonObject()) {
+                throw new JsonSyntaxException(String.format("Expected a json object, but found: %s", jsonElement));
             }
+            return jsonElement.getAsJsonObject();
+        } catch (final IOException e) {
+            throw new JsonSyntaxException(e.getMessage(), e);
+        }
+    }
+
+    private InputStream getStreamableContent(Response response) throws IntegrationException {
+        final InputStream inputStream = response.getContent();
+        if (null == inputStream) {
+            throw new IntegrationException("The response has no content to stream.");
+        }
+        return inputStream;
+    }
+
+    // Unlike getComponentAs, parse failures are left unchecked for the streaming iterators
+    <C extends IntRestComponent> C transformComponent(JsonObject jsonObject, Type responseType) {
+        final JsonTape jsonTape = retainCompactJson ? JsonTape.of(jsonObject) : null;
+        C transformedResponse = componentJsonBinder.bind(jsonObject, responseType);
+
+        // Set the JsonElement of only the root object
+        if (retainCompactJson) {
+            transformedResponse.setJsonTape(jsonTape);
+        } else {
+            transformedResponse.setJsonElement(jsonObject);
         }
+        return transformedResponse;
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+    public boolean isRetainCompactJson() {
+        return retainCompactJson;
+    }
+
+    public Optional<StringInterner> getStringInterner() {
+        return Optional.ofNullable(stringInterner);
+    }
+
+    /**
+     * @return The adapter used to read json into JsonElements, which interns Strings when a StringInterner was provided
+     */
+    public TypeAdapter<JsonElement> getJsonElementAdapter() {
+        return jsonElementAdapter;
     }
 
     // ==========
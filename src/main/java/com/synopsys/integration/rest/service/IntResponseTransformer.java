@@ -25,11 +25,20 @@ package com.synopsys.integration.rest.service;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
 import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.component.IntRestComponent;
 import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.exception.ApiException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 import com.synopsys.integration.rest.request.PageRequestHandler;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.request.Response;
@@ -37,10 +46,28 @@ import com.synopsys.integration.rest.request.Response;
 public class IntResponseTransformer {
     private final IntHttpClient intHttpClient;
     private final IntJsonTransformer intJsonTransformer;
+    private final ParsedResponseCache parsedResponseCache;
+    private final NegativeResponseCache negativeResponseCache;
 
     public IntResponseTransformer(final IntHttpClient intHttpClient, final IntJsonTransformer intJsonTransformer) {
+        this(intHttpClient, intJsonTransformer, null);
+    }
+
+    /**
+     * @param parsedResponseCache If not null, GET responses are cached after they are transformed and revalidated with their ETag or Last-Modified
+     */
+    public IntResponseTransformer(final IntHttpClient intHttpClient, final IntJsonTransformer intJsonTransformer, final ParsedResponseCache parsedResponseCache) {
+        this(intHttpClient, intJsonTransformer, parsedResponseCache, null);
+    }
+
+    /**
+     * @param negativeResponseCache If not null, GET requests to uris that recently answered 404 or 410 fail without a round trip
+     */
+    public IntResponseTransformer(final IntHttpClient intHttpClient, final IntJsonTransformer intJsonTransformer, final ParsedResponseCache parsedResponseCache, final NegativeResponseCache negativeResponseCache) {
         this.intHttpClient = intHttpClient;
         this.intJsonTransformer = intJsonTransformer;
+        this.parsedResponseCache = parsedResponseCache;
+        this.negativeResponseCache = negativeResponseCache;
     }
 
     public <R extends IntRestResponse> R getResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, final Class<R> responseClass, int pageSize) throws IntegrationException {
@@ -61,15 +88,205 @@ public class IntResponseTransformer {
         return pageRequestHandler.combineResponses(allResponses);
     }
 
+    /**
+     * Retrieves all pages like {@link #getResponses(Request.Builder, PageRequestHandler, Class, int)}, but the limit of each page request is chosen by the {@link AdaptivePageSize}
+     * from the time taken and the payload size of the previous pages. Since the server may return fewer objects than requested, the offset advances by the objects actually received.
+     */
+    public <R extends IntRestResponse> R getResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, final Class<R> responseClass, AdaptivePageSize adaptivePageSize)
+        throws IntegrationException {
+        final List<R> allResponses = new ArrayList<>();
+        int currentResponseDataCount = 0;
+        int totalResponseDataCount;
+        int pageResponseDataCount;
+        int offset = 0;
+        do {
+            final int pageSize = adaptivePageSize.getPageSize();
+            final Request request = pageRequestHandler.createPageRequest(requestBuilder, offset, pageSize);
+            final long start = System.currentTimeMillis();
+            final R response = getResponse(request, responseClass);
+            final long elapsed = System.currentTimeMillis() - start;
+            allResponses.add(response);
+
+            pageResponseDataCount = pageRequestHandler.getCurrentResponseCount(response);
+            currentResponseDataCount += pageResponseDataCount;
+            totalResponseDataCount = pageRequestHandler.getTotalResponseCount(response);
+            offset += pageResponseDataCount;
+
+            final long pageBytes = getUtf8Length(response.getJson());
+            adaptivePageSize.recordPage(pageSize, pageResponseDataCount, elapsed, pageBytes, totalResponseDataCount > currentResponseDataCount);
+            // an empty page would never advance the offset
+        } while (totalResponseDataCount > currentResponseDataCount && pageResponseDataCount > 0);
+
+        return pageRequestHandler.combineResponses(allResponses);
+    }
+
+    /**
+     * Retrieves all pages like {@link #getResponses(Request.Builder, PageRequestHandler, Class, int)}, but records its progress in the checkpoint file.
+     * If the checkpoint file already holds the progress of an earlier, unfinished run for the same uri, the pages it retrieved are reused and paging continues from its offset.
+     * The checkpoint file is deleted once all of the pages have been retrieved.
+     */
+    public <R extends IntRestResponse> R getResponses(Request.Builder requestBuilder, PageRequestHandler pageRequestHandler, final Class<R> responseClass, int pageSize, PagingCheckpointFile checkpointFile)
+        throws IntegrationException {
+        final String uri = requestBuilder.getUri();
+        PagingCheckpoint checkpoint = checkpointFile.load().orElseGet(() -> new PagingCheckpoint(uri));
+        if (!StringUtils.equals(uri, checkpoint.getUri())) {
+            throw new IntegrationException(String.format("The paging checkpoint %s was recorded for %s, not %s.", checkpointFile.getCheckpointPath(), checkpoint.getUri(), uri));
+        }
+
+        final List<R> allResponses = new ArrayList<>();
+        for (final String pageJson : checkpointFile.loadPages(checkpoint)) {
+            allResponses.add(intJsonTransformer.getResponse(pageJson, responseClass));
+        }
+
+        while (!checkpoint.isComplete()) {
+            final Request request = pageRequestHandler.createPageRequest(requestBuilder, checkpoint.getOffset(), pageSize);
+            final R response = getResponse(request, responseClass);
+            allResponses.add(response);
+
+            final long pagesLength = checkpointFile.appendPage(response.getJson());
+            checkpoint = checkpoint.nextPage(pageSize, pageRequestHandler.getCurrentResponseCount(response), pageRequestHandler.getTotalResponseCount(response), pagesLength);
+            if (checkpointFile.shouldSave(checkpoint)) {
+                checkpointFile.save(checkpoint);
+            }
+        }
+
+        final R combinedResponse = pageRequestHandler.combineResponses(allResponses);
+        checkpointFile.delete();
+        return combinedResponse;
+    }
+
     public <R extends IntRestResponse> R getResponse(Request request, Class<R> responseClass) throws IntegrationException {
+        final boolean isGet = HttpMethod.GET == request.getMethod();
+        if (null != negativeResponseCache && isGet) {
+            final Optional<IntegrationRestException> knownMissing = negativeResponseCache.find(request);
+            if (knownMissing.isPresent()) {
+                throw intHttpClient.transformException(knownMissing.get());
+            }
+        }
+        if (null != parsedResponseCache && isGet) {
+            return getCachedResponse(request, responseClass);
+        }
         try (final Response response = intHttpClient.execute(request)) {
-            intHttpClient.throwExceptionForError(response);
+            throwExceptionForError(request, response);
             return intJsonTransformer.getResponse(response, responseClass);
         } catch (final IOException e) {
             throw new IntegrationException(e.getMessage(), e);
         }
     }
 
+    private <R extends IntRestResponse> R getCachedResponse(Request request, Class<R> responseClass) throws IntegrationException {
+        final String key = ParsedResponseCache.createKey(request, responseClass);
+        final Optional<ParsedResponseCache.CachedResponse> cachedResponse = parsedResponseCache.get(key);
+        if (cachedResponse.isPresent() && cachedResponse.get().isFresh()) {
+            return readCachedResponse(cachedResponse.get(), responseClass);
+        }
+
+        final Request conditionalRequest = cachedResponse.map(cached -> cached.createConditionalRequest(request)).orElse(request);
+        try (final Response response = intHttpClient.execute(conditionalRequest)) {
+            if (cachedResponse.isPresent() && Integer.valueOf(RestConstants.NOT_MODIFIED_304).equals(response.getStatusCode())) {
+                parsedResponseCache.refresh(key, response);
+                return readCachedResponse(cachedResponse.get(), responseClass);
+            }
+            throwExceptionForError(request, response);
+            final R transformedResponse = intJsonTransformer.getResponse(response, responseClass);
+            parsedResponseCache.put(key, transformedResponse, response);
+            return transformedResponse;
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    private void throwExceptionForError(Request request, Response response) throws IntegrationException {
+        try {
+            intHttpClient.throwExceptionForError(response);
+        } catch (final IntegrationRestException e) {
+            rememberMissing(request, e);
+            throw e;
+        } catch (final ApiException e) {
+            rememberMissing(request, e.getOriginalIntegrationRestException());
+            throw e;
+        }
+    }
+
+    private void rememberMissing(Request request, IntegrationRestException e) {
+        if (null != negativeResponseCache && HttpMethod.GET == request.getMethod() && NegativeResponseCache.isCacheable(e.getHttpStatusCode())) {
+            negativeResponseCache.put(request, e.getHttpStatusCode(), e.getHttpStatusMessage(), e.getHttpResponseContent());
+        }
+    }
+
+    private <R extends IntRestResponse> R readCachedResponse(ParsedResponseCache.CachedResponse cachedResponse, Class<R> responseClass) throws IntegrationException {
+        final Optional<JsonObject> jsonObject = cachedResponse.copyJsonObject();
+        if (jsonObject.isPresent()) {
+            return intJsonTransformer.getResponse(jsonObject.get(), responseClass);
+        }
+        return responseClass.cast(cachedResponse.getIntRestResponse());
+    }
+
+    /**
+     * @return The number of bytes the json takes as utf-8, counted without encoding it
+     */
+    private static long getUtf8Length(String json) {
+        if (null == json) {
+            return 0L;
+        }
+        long length = 0L;
+        for (int index = 0; index < json.length(); index++) {
+            char character = json.charAt(index);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && index + 1 < json.length() && Character.isLowSurrogate(json.charAt(index + 1))) {
+                length += 4;
+                index++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Retrieves the response but only materializes the parts of its json described by the projection, for example {@code JsonProjection.ofType(responseClass)}.
+     */
+    public <R extends IntRestResponse> R getResponse(Request request, Class<R> responseClass, JsonProjection projection) throws IntegrationException {
+        try (final Response response = intHttpClient.execute(request)) {
+            intHttpClient.throwExceptionForError(response);
+            return intJsonTransformer.getResponse(response, responseClass, projection);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the objects of the json array at the dot separated arrayPath, such as 'items', one component at a time instead of loading the whole response.
+     * The response stays open until the returned iterator is closed.
+     */
+    public <C extends IntRestComponent> JsonArrayComponentIterator<C> getComponentIterator(Request request, String arrayPath, Class<C> componentClass) throws IntegrationException {
+        final Response response = intHttpClient.execute(request);
+        try {
+            intHttpClient.throwExceptionForError(response);
+            return intJsonTransformer.getComponentIterator(response, arrayPath, componentClass, response);
+        } catch (final IntegrationException e) {
+            IOUtils.closeQuietly(response);
+            throw e;
+        }
+    }
+
+    /**
+     * Streams a line delimited json (application/x-ndjson) response one component at a time. The response stays open until the returned iterator is closed.
+     */
+    public <C extends IntRestComponent> NdjsonComponentIterator<C> getNdjsonComponentIterator(Request request, Class<C> componentClass) throws IntegrationException {
+        final Response response = intHttpClient.execute(request);
+        try {
+            intHttpClient.throwExceptionForError(response);
+            return intJsonTransformer.getNdjsonComponentIterator(response, componentClass, response);
+        } catch (final IntegrationException e) {
+            IOUtils.closeQuietly(response);
+            throw e;
+        }
+    }
+
     public <R extends IntRestResponse> R getResponseAs(String json, Class<R> responseClass) throws IntegrationException {
         return intJsonTransformer.getComponentAs(json, responseClass);
     }
@@ -78,4 +295,12 @@ public class IntResponseTransformer {
         return intJsonTransformer.getComponentAs(jsonObject, responseClass);
     }
 
+    public Optional<ParsedResponseCache> getParsedResponseCache() {
+        return Optional.ofNullable(parsedResponseCache);
+    }
+
+    public Optional<NegativeResponseCache> getNegativeResponseCache() {
+        return Optional.ofNullable(negativeResponseCache);
+    }
+
 }
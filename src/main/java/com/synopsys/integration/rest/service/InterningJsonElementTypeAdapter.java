@@ -0,0 +1,83 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.IOException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Builds JsonElement trees whose field names and string values are shared through a {@link StringInterner}.
+ * Components deserialized from such a tree share the same String instances, since Gson reads their fields straight from the tree.
+ */
+public class InterningJsonElementTypeAdapter extends TypeAdapter<JsonElement> {
+    private final StringInterner stringInterner;
+    private final TypeAdapter<JsonElement> delegate;
+
+    /**
+     * @param delegate The adapter used to write elements and to read numbers, booleans and nulls
+     */
+    public InterningJsonElementTypeAdapter(StringInterner stringInterner, TypeAdapter<JsonElement> delegate) {
+        this.stringInterner = stringInterner;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, JsonElement value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public JsonElement read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (JsonToken.BEGIN_OBJECT == token) {
+            JsonObject jsonObject = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                String fieldName = stringInterner.intern(in.nextName());
+                jsonObject.add(fieldName, read(in));
+            }
+            in.endObject();
+            return jsonObject;
+        } else if (JsonToken.BEGIN_ARRAY == token) {
+            JsonArray jsonArray = new JsonArray();
+            in.beginArray();
+            while (in.hasNext()) {
+                jsonArray.add(read(in));
+            }
+            in.endArray();
+            return jsonArray;
+        } else if (JsonToken.STRING == token) {
+            return new JsonPrimitive(stringInterner.intern(in.nextString()));
+        }
+        return delegate.read(in);
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.IOException;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Interns every String field that Gson reads directly from json text, for objects that are not deserialized through {@link IntJsonTransformer}.
+ * Register it with {@code new GsonBuilder().registerTypeAdapterFactory(new InterningTypeAdapterFactory(stringInterner))}.
+ */
+public class InterningTypeAdapterFactory implements TypeAdapterFactory {
+    private final StringInterner stringInterner;
+
+    public InterningTypeAdapterFactory(StringInterner stringInterner) {
+        this.stringInterner = stringInterner;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (String.class != typeToken.getRawType()) {
+            return null;
+        }
+        TypeAdapter<String> delegate = (TypeAdapter<String>) gson.getDelegateAdapter(this, typeToken);
+        return (TypeAdapter<T>) new TypeAdapter<String>() {
+            @Override
+            public void write(JsonWriter out, String value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public String read(JsonReader in) throws IOException {
+                return stringInterner.intern(delegate.read(in));
+            }
+        };
+    }
+
+    public StringInterner getStringInterner() {
+        return stringInterner;
+    }
+
+}
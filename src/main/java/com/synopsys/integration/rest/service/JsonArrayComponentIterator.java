@@ -0,0 +1,102 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.rest.component.IntRestComponent;
+
+/**
+ * Streams the elements of a json array, either the top level array of the document or the array found at a dot separated path of object fields, such as 'items'.
+ * Fields that come before the array are skipped without being built and nothing after the array is read.
+ */
+public class JsonArrayComponentIterator<C extends IntRestComponent> extends ComponentIterator<C> {
+    private final JsonReader jsonReader;
+    private final String arrayPath;
+    private final TypeAdapter<JsonElement> jsonElementAdapter;
+
+    private boolean positioned;
+
+    public JsonArrayComponentIterator(IntJsonTransformer intJsonTransformer, Type componentType, JsonReader jsonReader, String arrayPath, Closeable source) {
+        super(intJsonTransformer, componentType, source);
+        this.jsonReader = jsonReader;
+        this.arrayPath = arrayPath;
+        this.jsonElementAdapter = intJsonTransformer.getJsonElementAdapter();
+    }
+
+    @Override
+    protected JsonObject readNextJsonObject() throws IOException {
+        if (!positioned) {
+            positioned = true;
+            if (!moveToArray()) {
+                return null;
+            }
+        }
+
+        if (!jsonReader.hasNext()) {
+            return null;
+        }
+        JsonElement jsonElement = jsonElementAdapter.read(jsonReader);
+        if (!jsonElement.isJsonObject()) {
+            throw new JsonParseException(String.format("Expected the elements of the array at '%s' to be objects, but found: %s", arrayPath, jsonElement));
+        }
+        return jsonElement.getAsJsonObject();
+    }
+
+    private boolean moveToArray() throws IOException {
+        for (String fieldName : StringUtils.split(StringUtils.defaultString(arrayPath), '.')) {
+            if (JsonToken.BEGIN_OBJECT != jsonReader.peek()) {
+                return false;
+            }
+            jsonReader.beginObject();
+            boolean found = false;
+            while (!found && jsonReader.hasNext()) {
+                if (fieldName.equals(jsonReader.nextName())) {
+                    found = true;
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+
+        if (JsonToken.BEGIN_ARRAY != jsonReader.peek()) {
+            return false;
+        }
+        jsonReader.beginArray();
+        return true;
+    }
+
+}
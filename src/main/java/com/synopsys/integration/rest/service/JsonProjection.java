@@ -0,0 +1,202 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.rest.component.LazyComponent;
+import com.synopsys.integration.rest.component.LazyComponentTypeAdapterFactory;
+
+/**
+ * Describes the parts of a json document that should be materialized. While reading, every other value is skipped at the token level
+ * without being built, so the cost of reading scales with the data that is kept rather than the data that was received.
+ * <p>
+ * Paths are dot separated field names, such as 'items.license.name'. Arrays are traversed transparently, so a path applies to every element
+ * of an array it passes through ('items[*].name' is accepted as well). A path that ends at an object or an array keeps all of its content.
+ */
+public class JsonProjection {
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private final Node root;
+
+    public static JsonProjection ofPaths(String... paths) {
+        return ofPaths(Arrays.asList(paths));
+    }
+
+    public static JsonProjection ofPaths(Collection<String> paths) {
+        Node root = new Node();
+        for (String path : paths) {
+            Node node = root;
+            for (String fieldName : StringUtils.split(StringUtils.remove(path, "[*]"), '.')) {
+                node = node.children.computeIfAbsent(fieldName, ignored -> new Node());
+            }
+            node.includeAll = true;
+        }
+        return new JsonProjection(root);
+    }
+
+    /**
+     * Projects the fields that Gson would populate on the type: the field names, or their {@link SerializedName} values, of every
+     * non-static, non-transient field, following fields whose types are classes of their own, including the values of {@link LazyComponent} fields. Fields of JDK types, enums and maps are kept whole.
+     */
+    public static JsonProjection ofType(Type type) {
+        return new JsonProjection(createTypeNode(type, new HashSet<>()));
+    }
+
+    private JsonProjection(Node root) {
+        this.root = root;
+    }
+
+    public JsonElement read(JsonReader jsonReader) throws IOException {
+        return read(jsonReader, JSON_ELEMENT_ADAPTER);
+    }
+
+    /**
+     * @param jsonElementAdapter The adapter that reads the values that are kept
+     */
+    public JsonElement read(JsonReader jsonReader, TypeAdapter<JsonElement> jsonElementAdapter) throws IOException {
+        return read(jsonReader, jsonElementAdapter, root);
+    }
+
+    private JsonElement read(JsonReader jsonReader, TypeAdapter<JsonElement> jsonElementAdapter, Node node) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (node.includeAll || (JsonToken.BEGIN_OBJECT != token && JsonToken.BEGIN_ARRAY != token)) {
+            return jsonElementAdapter.read(jsonReader);
+        }
+
+        if (JsonToken.BEGIN_ARRAY == token) {
+            JsonArray jsonArray = new JsonArray();
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                jsonArray.add(read(jsonReader, jsonElementAdapter, node));
+            }
+            jsonReader.endArray();
+            return jsonArray;
+        }
+
+        JsonObject jsonObject = new JsonObject();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String fieldName = jsonReader.nextName();
+            Node child = node.children.get(fieldName);
+            if (null == child) {
+                jsonReader.skipValue();
+            } else {
+                jsonObject.add(fieldName, read(jsonReader, jsonElementAdapter, child));
+            }
+        }
+        jsonReader.endObject();
+        return jsonObject;
+    }
+
+    private static Node createTypeNode(Type type, Set<Class<?>> visiting) {
+        Node node = new Node();
+        Class<?> rawType = TypeToken.get(type).getRawType();
+
+        if (LazyComponent.class.isAssignableFrom(rawType)) {
+            return createTypeNode(LazyComponentTypeAdapterFactory.getValueType(type), visiting);
+        }
+
+        if (rawType.isArray() || Collection.class.isAssignableFrom(rawType)) {
+            Type elementType = findElementType(type);
+            if (null == elementType) {
+                node.includeAll = true;
+                return node;
+            }
+            return createTypeNode(elementType, visiting);
+        }
+
+        if (isKeptWhole(rawType) || !visiting.add(rawType)) {
+            node.includeAll = true;
+            return node;
+        }
+
+        for (Class<?> currentClass = rawType; null != currentClass && Object.class != currentClass; currentClass = currentClass.getSuperclass()) {
+            for (Field field : currentClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                Node fieldNode = createTypeNode(field.getGenericType(), visiting);
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                if (null == serializedName) {
+                    node.children.put(field.getName(), fieldNode);
+                } else {
+                    node.children.put(serializedName.value(), fieldNode);
+                    for (String alternate : serializedName.alternate()) {
+                        node.children.put(alternate, fieldNode);
+                    }
+                }
+            }
+        }
+        visiting.remove(rawType);
+        return node;
+    }
+
+    private static Type findElementType(Type type) {
+        if (type instanceof Class && ((Class<?>) type).isArray()) {
+            return ((Class<?>) type).getComponentType();
+        } else if (type instanceof GenericArrayType) {
+            return ((GenericArrayType) type).getGenericComponentType();
+        } else if (type instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (typeArguments.length == 1 && (typeArguments[0] instanceof Class || typeArguments[0] instanceof ParameterizedType)) {
+                return typeArguments[0];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isKeptWhole(Class<?> rawType) {
+        return rawType.isPrimitive() || rawType.isEnum() || rawType.isInterface() || Map.class.isAssignableFrom(rawType) || JsonElement.class.isAssignableFrom(rawType)
+                   || rawType.getName().startsWith("java.") || rawType.getName().startsWith("javax.");
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean includeAll;
+
+    }
+
+}
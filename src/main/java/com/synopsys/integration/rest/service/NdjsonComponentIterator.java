@@ -0,0 +1,74 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
+import com.synopsys.integration.rest.component.IntRestComponent;
+
+/**
+ * Decodes line delimited json (application/x-ndjson), one line per component, as the lines arrive. Blank lines are ignored.
+ */
+public class NdjsonComponentIterator<C extends IntRestComponent> extends ComponentIterator<C> {
+    private final BufferedReader reader;
+    private final IntJsonTransformer intJsonTransformer;
+
+    public NdjsonComponentIterator(IntJsonTransformer intJsonTransformer, Type componentType, BufferedReader reader, Closeable source) {
+        super(intJsonTransformer, componentType, source);
+        this.intJsonTransformer = intJsonTransformer;
+        this.reader = reader;
+    }
+
+    @Override
+    protected JsonObject readNextJsonObject() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (null != line && StringUtils.isBlank(line));
+
+        if (null == line) {
+            return null;
+        }
+        JsonElement jsonElement;
+        try {
+            jsonElement = intJsonTransformer.getJsonElementAdapter().fromJson(line);
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e.getMessage(), e);
+        }
+        if (null == jsonElement || !jsonElement.isJsonObject()) {
+            throw new JsonParseException(String.format("Expected each line to be a json object, but found: %s", line));
+        }
+        return jsonElement.getAsJsonObject();
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Remembers, for a short time, the uris that answered {@link RestConstants#NOT_FOUND_404} or {@link RestConstants#GONE_410}, so that repeated
+ * lookups of missing objects are answered locally instead of with a round trip. The answer is an IntegrationRestException without a stack trace,
+ * which {@link com.synopsys.integration.rest.client.IntHttpClient#transformException(IntegrationRestException)} turns into the same kind of exception
+ * the first response caused.
+ * <p>
+ * Membership must be exact, since a false positive would report an existing object as missing, so the uris are kept in a bounded map rather than
+ * a probabilistic filter. When the maximum number of entries is reached the oldest entry is dropped.
+ */
+public class NegativeResponseCache {
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 30L * 1000L;
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 10000;
+
+    private final long timeToLiveMillis;
+    private final int maximumEntries;
+    private final LinkedHashMap<String, MissingResponse> entries = new LinkedHashMap<>();
+
+    public NegativeResponseCache() {
+        this(DEFAULT_TIME_TO_LIVE_MILLIS, DEFAULT_MAXIMUM_ENTRIES);
+    }
+
+    public NegativeResponseCache(long timeToLiveMillis, int maximumEntries) {
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maximumEntries = maximumEntries;
+    }
+
+    public static boolean isCacheable(Integer statusCode) {
+        return null != statusCode && (RestConstants.NOT_FOUND_404 == statusCode || RestConstants.GONE_410 == statusCode);
+    }
+
+    public synchronized void put(Request request, int statusCode, String statusMessage) {
+        put(request, statusCode, statusMessage, null);
+    }
+
+    /**
+     * @param responseContent The content of the error response, so the remembered answer carries the same error details as the first one
+     */
+    public synchronized void put(Request request, int statusCode, String statusMessage, String responseContent) {
+        if (!isCacheable(statusCode)) {
+            return;
+        }
+        String key = ParsedResponseCache.createKey(request);
+        entries.remove(key);
+        entries.put(key, new MissingResponse(statusCode, statusMessage, responseContent, System.currentTimeMillis() + timeToLiveMillis));
+        if (entries.size() > maximumEntries) {
+            Iterator<MissingResponse> oldest = entries.values().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /**
+     * @return The exception to throw for the request, if its uri is known to be missing
+     */
+    public synchronized Optional<IntegrationRestException> find(Request request) {
+        String key = ParsedResponseCache.createKey(request);
+        MissingResponse missingResponse = entries.get(key);
+        if (null == missingResponse) {
+            return Optional.empty();
+        }
+        if (missingResponse.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+
+        String message = String.format("There was a problem trying to %s %s, response was %s (remembered from an earlier request).", request.getMethod(), request.getUri(), missingResponse.statusCode);
+        return Optional.of(new IntegrationRestException(missingResponse.statusCode, missingResponse.statusMessage, missingResponse.responseContent, message, null, false, false));
+    }
+
+    public synchronized void remove(Request request) {
+        entries.remove(ParsedResponseCache.createKey(request));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    public int getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    private static class MissingResponse {
+        private final int statusCode;
+        private final String statusMessage;
+        private final String responseContent;
+        private final long expiresAt;
+
+        public MissingResponse(int statusCode, String statusMessage, String responseContent, long expiresAt) {
+            this.statusCode = statusCode;
+            this.statusMessage = statusMessage;
+            this.responseContent = responseContent;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
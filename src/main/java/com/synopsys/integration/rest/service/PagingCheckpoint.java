@@ -0,0 +1,90 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import com.synopsys.integration.util.Stringable;
+
+/**
+ * The persisted progress of a paged request: where the next page starts and how much of the paged data has already been retrieved.
+ */
+public class PagingCheckpoint extends Stringable {
+    private final String uri;
+    private final int offset;
+    private final int currentResponseCount;
+    private final int totalResponseCount;
+    private final int pageCount;
+    private final long pagesLength;
+
+    public PagingCheckpoint(String uri) {
+        this(uri, 0, 0, 0, 0, 0L);
+    }
+
+    public PagingCheckpoint(String uri, int offset, int currentResponseCount, int totalResponseCount, int pageCount, long pagesLength) {
+        this.uri = uri;
+        this.offset = offset;
+        this.currentResponseCount = currentResponseCount;
+        this.totalResponseCount = totalResponseCount;
+        this.pageCount = pageCount;
+        this.pagesLength = pagesLength;
+    }
+
+    public PagingCheckpoint nextPage(int limit, int pageResponseCount, int totalResponseCount, long pagesLength) {
+        return new PagingCheckpoint(uri, offset + limit, currentResponseCount + pageResponseCount, totalResponseCount, pageCount + 1, pagesLength);
+    }
+
+    public boolean isStarted() {
+        return pageCount > 0;
+    }
+
+    public boolean isComplete() {
+        return isStarted() && totalResponseCount <= currentResponseCount;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getCurrentResponseCount() {
+        return currentResponseCount;
+    }
+
+    public int getTotalResponseCount() {
+        return totalResponseCount;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * @return The number of bytes of the pages file that belong to the pages counted by this checkpoint
+     */
+    public long getPagesLength() {
+        return pagesLength;
+    }
+
+}
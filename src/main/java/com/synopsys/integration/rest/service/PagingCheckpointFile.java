@@ -0,0 +1,173 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Stores the progress of a paged request in a small local checkpoint file so that a failed or restarted run can continue where it stopped.
+ * The json of every page already retrieved is appended, one page per line, to a sibling '.pages' file.
+ */
+public class PagingCheckpointFile {
+    public static final String PAGES_FILE_SUFFIX = ".pages";
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1;
+
+    private final Path checkpointPath;
+    private final Path pagesPath;
+    private final Gson gson;
+    private final int checkpointInterval;
+
+    public PagingCheckpointFile(Path checkpointPath, Gson gson) {
+        this(checkpointPath, gson, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param checkpointInterval The number of pages to retrieve between writes of the checkpoint file
+     */
+    public PagingCheckpointFile(Path checkpointPath, Gson gson, int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("The checkpoint interval must be greater than 0.");
+        }
+        this.checkpointPath = checkpointPath;
+        this.pagesPath = checkpointPath.resolveSibling(checkpointPath.getFileName().toString() + PAGES_FILE_SUFFIX);
+        this.gson = gson;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public Optional<PagingCheckpoint> load() throws IntegrationException {
+        if (!Files.isRegularFile(checkpointPath)) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(checkpointPath, StandardCharsets.UTF_8)) {
+            return Optional.ofNullable(gson.fromJson(reader, PagingCheckpoint.class));
+        } catch (IOException | JsonParseException e) {
+            throw new IntegrationException(String.format("Could not read the paging checkpoint %s: %s", checkpointPath, e.getMessage()), e);
+        }
+    }
+
+    public void save(PagingCheckpoint checkpoint) throws IntegrationException {
+        Path temporaryPath = checkpointPath.resolveSibling(checkpointPath.getFileName().toString() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+                gson.toJson(checkpoint, writer);
+            }
+            Files.move(temporaryPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not write the paging checkpoint %s: %s", checkpointPath, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * @return The json of the pages counted by the checkpoint. Any pages written after the checkpoint was saved are discarded, all of them when paging
+     * has not started, so that pages left by a run that stopped before its first save are not read back as the first pages of the next run.
+     */
+    public List<String> loadPages(PagingCheckpoint checkpoint) throws IntegrationException {
+        List<String> pages = new ArrayList<>();
+        if (!checkpoint.isStarted()) {
+            try {
+                Files.deleteIfExists(pagesPath);
+            } catch (IOException e) {
+                throw new IntegrationException(String.format("Could not delete the retrieved pages %s: %s", pagesPath, e.getMessage()), e);
+            }
+            return pages;
+        }
+        try (FileChannel channel = FileChannel.open(pagesPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.truncate(checkpoint.getPagesLength());
+            channel.position(0);
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.name()));
+            String line;
+            while (pages.size() < checkpoint.getPageCount() && null != (line = reader.readLine())) {
+                pages.add(line);
+            }
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not read the retrieved pages %s: %s", pagesPath, e.getMessage()), e);
+        }
+        if (pages.size() != checkpoint.getPageCount()) {
+            throw new IntegrationException(String.format("The retrieved pages %s contain %d of the %d pages recorded in the checkpoint.", pagesPath, pages.size(), checkpoint.getPageCount()));
+        }
+        return pages;
+    }
+
+    /**
+     * @return The length of the pages file after the page was appended
+     */
+    public long appendPage(String pageJson) throws IntegrationException {
+        String line = pageJson;
+        if (line.indexOf('\n') >= 0 || line.indexOf('\r') >= 0) {
+            // pretty printed json must be compacted to keep one page per line
+            line = new Gson().toJson(gson.fromJson(line, JsonElement.class));
+        }
+        try (FileChannel channel = FileChannel.open(pagesPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.name());
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+            return channel.size();
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not append to the retrieved pages %s: %s", pagesPath, e.getMessage()), e);
+        }
+    }
+
+    public void delete() throws IntegrationException {
+        try {
+            Files.deleteIfExists(checkpointPath);
+            Files.deleteIfExists(pagesPath);
+        } catch (IOException e) {
+            throw new IntegrationException(String.format("Could not delete the paging checkpoint %s: %s", checkpointPath, e.getMessage()), e);
+        }
+    }
+
+    public boolean shouldSave(PagingCheckpoint checkpoint) {
+        return checkpoint.getPageCount() % checkpointInterval == 0;
+    }
+
+    public Path getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    public Path getPagesPath() {
+        return pagesPath;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+}
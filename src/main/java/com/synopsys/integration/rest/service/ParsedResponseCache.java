@@ -0,0 +1,303 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.digest.ContentDigest;
+import com.synopsys.integration.rest.digest.DigestAlgorithm;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Keeps already transformed responses, keyed by uri, the request headers that select the representation and response type, together with the validators (ETag and Last-Modified) and the freshness
+ * (Cache-Control max-age) the server sent with them. A fresh entry is returned without a request; a stale one is revalidated with a conditional
+ * request, and a 304 returns the parsed object without transforming the body again.
+ * <p>
+ * Entries are weighed by the length of their json and the least recently used entries are evicted once the total weight exceeds the maximum.
+ * By default every hit is bound again from a copy of the parsed json that is kept with the entry, so the json is not parsed again; without copyOnRead
+ * every hit returns the same instance, which callers must treat as read-only.
+ */
+public class ParsedResponseCache {
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024L * 1024L;
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age=";
+    // a rough allowance for the object graph on top of the chars of its json
+    private static final int WEIGHT_PER_CHAR = 4;
+    // entries without json still hold an object graph
+    private static final long MINIMUM_WEIGHT = 32;
+
+    private final long maximumWeight;
+    private final boolean copyOnRead;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+
+    public ParsedResponseCache() {
+        this(DEFAULT_MAXIMUM_WEIGHT, true);
+    }
+
+    /**
+     * @param maximumWeight The approximate number of bytes the cached responses may occupy
+     * @param copyOnRead    If true, every hit is bound again from the cached parsed json so callers can modify what they receive
+     */
+    public ParsedResponseCache(long maximumWeight, boolean copyOnRead) {
+        this.maximumWeight = maximumWeight;
+        this.copyOnRead = copyOnRead;
+    }
+
+    public static String createKey(Request request, Type responseType) {
+        return responseType.getTypeName() + ' ' + createKey(request);
+    }
+
+    /**
+     * @return The uri of the request followed by its query parameters in a stable order, its Accept header and a digest of its Authorization header, if any
+     */
+    public static String createKey(Request request) {
+        StringBuilder key = new StringBuilder(request.getUri());
+        Map<String, Set<String>> sortedQueryParameters = new TreeMap<>(request.getPopulatedQueryParameters());
+        char separator = '?';
+        for (Map.Entry<String, Set<String>> queryParameter : sortedQueryParameters.entrySet()) {
+            for (String value : new TreeSet<>(queryParameter.getValue())) {
+                key.append(separator).append(queryParameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+
+        String accept = getAdditionalHeader(request, HttpHeaders.ACCEPT);
+        if (null == accept && HttpMethod.GET == request.getMethod()) {
+            // the mime type is sent as the Accept header of a GET without one
+            accept = request.getMimeType();
+        }
+        if (StringUtils.isNotBlank(accept)) {
+            key.append(' ').append(HttpHeaders.ACCEPT).append('=').append(accept);
+        }
+        String authorization = getAdditionalHeader(request, HttpHeaders.AUTHORIZATION);
+        if (StringUtils.isNotBlank(authorization)) {
+            // only a digest, so the credentials are not kept in the keys
+            byte[] digest = DigestAlgorithm.SHA_256.createMessageDigest().digest(authorization.getBytes(StandardCharsets.UTF_8));
+            key.append(' ').append(HttpHeaders.AUTHORIZATION).append('=').append(new ContentDigest(DigestAlgorithm.SHA_256, digest).getBase64());
+        }
+        return key.toString();
+    }
+
+    private static String getAdditionalHeader(Request request, String name) {
+        if (null == request.getAdditionalHeaders()) {
+            return null;
+        }
+        for (Map.Entry<String, String> additionalHeader : request.getAdditionalHeaders().entrySet()) {
+            if (name.equalsIgnoreCase(additionalHeader.getKey())) {
+                return additionalHeader.getValue();
+            }
+        }
+        return null;
+    }
+
+    public synchronized Optional<CachedResponse> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /**
+     * Caches the transformed response if the server allows it and sent a validator or a max-age.
+     */
+    public synchronized void put(String key, IntRestResponse intRestResponse, Response response) {
+        remove(key);
+        String cacheControl = response.getHeaderValue(HttpHeaders.CACHE_CONTROL);
+        if (StringUtils.containsIgnoreCase(cacheControl, NO_STORE)) {
+            return;
+        }
+        String eTag = response.getHeaderValue(HttpHeaders.ETAG);
+        String lastModified = response.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+        long expiresAt = calculateExpiresAt(cacheControl);
+        if (StringUtils.isAllBlank(eTag, lastModified) && expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+
+        JsonObject jsonObject = null;
+        if (copyOnRead) {
+            JsonElement jsonElement = null == intRestResponse.getJson() ? null : new JsonParser().parse(intRestResponse.getJson());
+            if (null == jsonElement || !jsonElement.isJsonObject()) {
+                // there is nothing to copy a hit from
+                return;
+            }
+            jsonObject = jsonElement.getAsJsonObject();
+        }
+
+        long weight = Math.max(MINIMUM_WEIGHT, WEIGHT_PER_CHAR * (long) StringUtils.length(intRestResponse.getJson()));
+        if (weight > maximumWeight) {
+            return;
+        }
+        entries.put(key, new CachedResponse(intRestResponse, jsonObject, eTag, lastModified, expiresAt, weight));
+        totalWeight += weight;
+        evict();
+    }
+
+    /**
+     * Extends the freshness of an entry after the server confirmed it is unchanged, and keeps any new validators the server sent with the 304.
+     */
+    public synchronized void refresh(String key, Response notModifiedResponse) {
+        CachedResponse cachedResponse = entries.get(key);
+        if (null != cachedResponse) {
+            cachedResponse.expiresAt = calculateExpiresAt(notModifiedResponse.getHeaderValue(HttpHeaders.CACHE_CONTROL));
+            String eTag = notModifiedResponse.getHeaderValue(HttpHeaders.ETAG);
+            if (StringUtils.isNotBlank(eTag)) {
+                cachedResponse.eTag = eTag;
+            }
+            String lastModified = notModifiedResponse.getHeaderValue(HttpHeaders.LAST_MODIFIED);
+            if (StringUtils.isNotBlank(lastModified)) {
+                cachedResponse.lastModified = lastModified;
+            }
+        }
+    }
+
+    public synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (null != removed) {
+            totalWeight -= removed.weight;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public boolean isCopyOnRead() {
+        return copyOnRead;
+    }
+
+    private void evict() {
+        Iterator<CachedResponse> leastRecentlyUsed = entries.values().iterator();
+        while (totalWeight > maximumWeight && leastRecentlyUsed.hasNext()) {
+            totalWeight -= leastRecentlyUsed.next().weight;
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private long calculateExpiresAt(String cacheControl) {
+        long now = System.currentTimeMillis();
+        if (StringUtils.isBlank(cacheControl) || StringUtils.containsIgnoreCase(cacheControl, NO_CACHE)) {
+            return now;
+        }
+        for (String directive : StringUtils.split(cacheControl, ',')) {
+            String trimmedDirective = directive.trim().toLowerCase();
+            if (trimmedDirective.startsWith(MAX_AGE)) {
+                try {
+                    return now + 1000L * Long.parseLong(trimmedDirective.substring(MAX_AGE.length()).trim());
+                } catch (NumberFormatException ignored) {
+                    return now;
+                }
+            }
+        }
+        return now;
+    }
+
+    public static class CachedResponse {
+        private final IntRestResponse intRestResponse;
+        private final JsonObject jsonObject;
+        private final long weight;
+        private volatile String eTag;
+        private volatile String lastModified;
+        private volatile long expiresAt;
+
+        private CachedResponse(IntRestResponse intRestResponse, JsonObject jsonObject, String eTag, String lastModified, long expiresAt, long weight) {
+            this.intRestResponse = intRestResponse;
+            this.jsonObject = jsonObject;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+
+        /**
+         * @return A copy of the request that will be answered with a 304 if the cached response is still current
+         */
+        public Request createConditionalRequest(Request request) {
+            Request.Builder builder = new Request.Builder(request);
+            if (StringUtils.isNotBlank(eTag)) {
+                builder.addAdditionalHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+            }
+            if (StringUtils.isNotBlank(lastModified)) {
+                builder.addAdditionalHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            return builder.build();
+        }
+
+        public IntRestResponse getIntRestResponse() {
+            return intRestResponse;
+        }
+
+        /**
+         * @return A copy of the parsed json to bind a hit from, or empty unless the cache copies on read
+         */
+        public Optional<JsonObject> copyJsonObject() {
+            return Optional.ofNullable(jsonObject).map(JsonObject::deepCopy);
+        }
+
+        public Optional<String> getETag() {
+            return Optional.ofNullable(eTag);
+        }
+
+        public Optional<String> getLastModified() {
+            return Optional.ofNullable(lastModified);
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+    }
+
+}
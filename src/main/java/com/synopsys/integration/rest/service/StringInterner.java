@@ -0,0 +1,83 @@
+/**
+ * integration-rest
+ *
+ * Copyright (c) 2020 Synopsys, Inc.
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.rest.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded, thread-safe table that makes equal Strings share one instance. Field names and enum-like values, such as statuses, license names
+ * and urls, repeat throughout parsed responses, so sharing them reduces the heap held by components that are kept between requests.
+ * <p>
+ * Strings longer than the maximum length are never interned. Once the table holds its maximum number of entries, new Strings are returned
+ * unchanged while the Strings already in the table continue to be shared.
+ */
+public class StringInterner {
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 50000;
+    public static final int DEFAULT_MAXIMUM_LENGTH = 256;
+
+    private final ConcurrentMap<String, String> table = new ConcurrentHashMap<>();
+    private final int maximumEntries;
+    private final int maximumLength;
+
+    public StringInterner() {
+        this(DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_LENGTH);
+    }
+
+    public StringInterner(int maximumEntries, int maximumLength) {
+        this.maximumEntries = maximumEntries;
+        this.maximumLength = maximumLength;
+    }
+
+    public String intern(String value) {
+        if (null == value || value.length() > maximumLength) {
+            return value;
+        }
+        String interned = table.get(value);
+        if (null != interned) {
+            return interned;
+        }
+        if (table.size() >= maximumEntries) {
+            return value;
+        }
+        interned = table.putIfAbsent(value, value);
+        return null == interned ? value : interned;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    public int getMaximumEntries() {
+        return maximumEntries;
+    }
+
+    public int getMaximumLength() {
+        return maximumLength;
+    }
+
+}
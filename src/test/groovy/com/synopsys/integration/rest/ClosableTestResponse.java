@@ -0,0 +1,34 @@
+package com.synopsys.integration.rest;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.message.BasicHttpResponse;
+
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * An in-memory response for tests of code that reads a {@link Response} without a server.
+ */
+public class ClosableTestResponse extends BasicHttpResponse implements CloseableHttpResponse {
+    public ClosableTestResponse() {
+        this(RestConstants.OK_200);
+    }
+
+    public ClosableTestResponse(int statusCode) {
+        super(HttpVersion.HTTP_1_1, statusCode, "");
+    }
+
+    public Response toResponse() {
+        return toResponse("https://www.synopsys.com");
+    }
+
+    public Response toResponse(String uri) {
+        return new Response(new HttpGet(uri), null, this);
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
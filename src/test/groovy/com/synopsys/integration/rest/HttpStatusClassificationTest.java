@@ -0,0 +1,58 @@
+package com.synopsys.integration.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Response;
+
+public class HttpStatusClassificationTest {
+    @Test
+    public void testClassify() {
+        assertEquals(HttpStatusClassification.SUCCESS, HttpStatusClassification.classify(RestConstants.NO_CONTENT_204));
+        assertEquals(HttpStatusClassification.REDIRECT, HttpStatusClassification.classify(RestConstants.NOT_MODIFIED_304));
+        assertEquals(HttpStatusClassification.AUTH, HttpStatusClassification.classify(RestConstants.FORBIDDEN_403));
+        assertEquals(HttpStatusClassification.NOT_FOUND, HttpStatusClassification.classify(RestConstants.GONE_410));
+        assertEquals(HttpStatusClassification.RETRYABLE, HttpStatusClassification.classify(RestConstants.TOO_MANY_REQUESTS_429));
+        assertEquals(HttpStatusClassification.RETRYABLE, HttpStatusClassification.classify(RestConstants.UNAVAILABLE_503));
+        assertEquals(HttpStatusClassification.CLIENT, HttpStatusClassification.classify(RestConstants.CONFLICT_409));
+        assertEquals(HttpStatusClassification.SERVER, HttpStatusClassification.classify(RestConstants.INTERNAL_ERROR_500));
+        assertEquals(HttpStatusClassification.UNKNOWN, HttpStatusClassification.classify(null));
+
+        assertTrue(HttpStatusClassification.CLIENT.isError());
+        assertFalse(HttpStatusClassification.SUCCESS.isError());
+    }
+
+    @Test
+    public void testStacklessException() {
+        ClosableTestResponse httpResponse = new ClosableTestResponse(RestConstants.CONFLICT_409);
+        Response response = httpResponse.toResponse();
+        assertEquals(HttpStatusClassification.CLIENT, response.getStatusClassification());
+
+        try {
+            response.throwExceptionForError(1024, false);
+        } catch (IntegrationRestException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertEquals("There was a problem trying to GET https://www.synopsys.com, response was 409 Conflict.", e.getMessage());
+            return;
+        }
+        throw new AssertionError("An exception should have been thrown.");
+    }
+
+    @Test
+    public void testStacklessMessageIsBuiltOnceWhenRead() {
+        AtomicInteger messagesBuilt = new AtomicInteger();
+        IntegrationRestException exception = new IntegrationRestException(RestConstants.NOT_FOUND_404, "Not Found", "", () -> "missing " + messagesBuilt.incrementAndGet(), false);
+        assertEquals(0, messagesBuilt.get());
+
+        assertEquals("missing 1", exception.getMessage());
+        assertEquals("missing 1", exception.getMessage());
+        assertEquals(1, messagesBuilt.get());
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.synopsys.integration.rest.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.HttpStatusClassification;
+import com.synopsys.integration.rest.body.StringBodyContent;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class BatchClientTest {
+    private static final Pattern ITEM = Pattern.compile("Content-ID: <item-(\\d+)>\r\n\r\n(\\w+) (\\S+) HTTP/1.1");
+
+    private final List<String> batchBodies = Collections.synchronizedList(new ArrayList<>());
+    private final MockWebServer server = new MockWebServer();
+    private volatile boolean identifyItems = true;
+    private String baseUri;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handleBatch(request);
+            }
+        });
+        server.start();
+        baseUri = "http://localhost:" + server.getPort();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testItemsAreSplitAndMatchedBackInOrder() throws IntegrationException {
+        IntHttpClient intHttpClient = new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+        BatchClient batchClient = new BatchClient(intHttpClient, baseUri + "/batch", new MultipartMixedBatchCodec(), 2, 1024 * 1024);
+
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            HttpMethod method = i % 2 == 0 ? HttpMethod.PUT : HttpMethod.DELETE;
+            Request.Builder builder = new Request.Builder(baseUri + "/api/items/" + i).method(method).addQueryParameter("q", "a b");
+            if (HttpMethod.PUT == method) {
+                builder.bodyContent(new StringBodyContent("{\"value\":" + i + "}"));
+            }
+            requests.add(builder.build());
+        }
+
+        List<BatchItemResult> results = batchClient.execute(requests);
+
+        assertEquals(3, batchBodies.size());
+        assertTrue(batchBodies.get(0).contains("PUT /api/items/0?q=a+b HTTP/1.1"));
+        assertTrue(batchBodies.get(0).contains("{\"value\":0}"));
+        assertEquals(5, results.size());
+        for (int i = 0; i < 5; i++) {
+            BatchItemResult result = results.get(i);
+            assertEquals(i, result.getIndex());
+            if (i % 2 == 0) {
+                assertEquals(200, result.getStatusCode());
+                assertTrue(result.isStatusCodeOkay());
+                assertEquals("/api/items/" + i, result.getContentString());
+                assertEquals("text/plain", result.getHeaderValue("content-type"));
+            } else {
+                assertEquals(404, result.getStatusCode());
+                assertEquals(HttpStatusClassification.NOT_FOUND, result.getStatusClassification());
+                assertEquals("", result.getContentString());
+            }
+        }
+    }
+
+    @Test
+    public void testResultsWithoutIdsAreMatchedByPositionInEveryBatch() throws IntegrationException {
+        identifyItems = false;
+        IntHttpClient intHttpClient = new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+        BatchClient batchClient = new BatchClient(intHttpClient, baseUri + "/batch", new MultipartMixedBatchCodec(), 2, 1024 * 1024);
+
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(new Request.Builder(baseUri + "/api/items/" + i).method(HttpMethod.PUT).bodyContent(new StringBodyContent("{\"value\":" + i + "}")).build());
+        }
+
+        List<BatchItemResult> results = batchClient.execute(requests);
+
+        assertEquals(3, batchBodies.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertFalse(results.get(i).isPositionInBatch());
+            assertEquals("/api/items/" + i, results.get(i).getContentString());
+        }
+    }
+
+    @Test
+    public void testSplitByBytes() {
+        BatchClient batchClient = new BatchClient(null, "unused", new MultipartMixedBatchCodec(), 10, 100);
+        List<byte[]> items = Arrays.asList(new byte[60], new byte[30], new byte[20], new byte[150], new byte[1]);
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2), Arrays.asList(3), Arrays.asList(4)), batchClient.split(items));
+    }
+
+    @Test
+    public void testMultipartDecodeWithoutContentIds() throws IntegrationException {
+        String content = "preamble\r\n--b\r\nContent-Type: application/http\r\n\r\nHTTP/1.1 204 No Content\r\n\r\n\r\n--b\r\nContent-Type: application/http\r\n\r\nHTTP/1.1 409 Conflict\r\nETag: \"x\"\r\n\r\nline one\r\nline two\r\n--b--\r\n";
+
+        List<BatchItemResult> results = new MultipartMixedBatchCodec().decode("b", content.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getIndex());
+        assertTrue(results.get(0).isPositionInBatch());
+        assertEquals(204, results.get(0).getStatusCode());
+        assertEquals("No Content", results.get(0).getStatusMessage());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(409, results.get(1).getStatusCode());
+        assertEquals("\"x\"", results.get(1).getHeaderValue("ETag"));
+        assertEquals("line one\r\nline two", results.get(1).getContentString());
+    }
+
+    @Test
+    public void testJsonEnvelope() throws Exception {
+        Gson gson = new Gson();
+        JsonBatchCodec codec = new JsonBatchCodec(gson, "ops", "results");
+        Request put = new Request.Builder(baseUri + "/api/items/3").method(HttpMethod.PUT).bodyContent(new StringBodyContent("{\"value\":3}")).build();
+        Request delete = new Request.Builder(baseUri + "/api/items/4").method(HttpMethod.DELETE).build();
+
+        HttpEntity entity = codec.createEntity(Arrays.asList(codec.encodeItem(3, put), codec.encodeItem(4, delete)));
+        JsonObject envelope = new JsonParser().parse(EntityUtils.toString(entity)).getAsJsonObject();
+
+        JsonObject first = envelope.getAsJsonArray("ops").get(0).getAsJsonObject();
+        assertEquals("3", first.get("id").getAsString());
+        assertEquals("PUT", first.get("method").getAsString());
+        assertEquals("/api/items/3", first.get("url").getAsString());
+        assertEquals(3, first.getAsJsonObject("body").get("value").getAsInt());
+        assertFalse(envelope.getAsJsonArray("ops").get(1).getAsJsonObject().has("body"));
+
+        String response = "{\"results\":[{\"id\":\"4\",\"status\":204},{\"id\":\"3\",\"status\":200,\"headers\":{\"ETag\":\"v2\"},\"body\":{\"value\":3}}]}";
+        List<BatchItemResult> results = codec.decode(new JsonParser().parse(response));
+
+        assertEquals(4, results.get(0).getIndex());
+        assertFalse(results.get(0).isPositionInBatch());
+        assertEquals(204, results.get(0).getStatusCode());
+        assertEquals(3, results.get(1).getIndex());
+        assertEquals("v2", results.get(1).getHeaderValue("etag"));
+        assertEquals("{\"value\":3}", results.get(1).getContentString());
+    }
+
+    private MockResponse handleBatch(RecordedRequest request) {
+        String body = request.getBody().readUtf8();
+        batchBodies.add(body);
+
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = ITEM.matcher(body);
+        while (matcher.find()) {
+            String path = matcher.group(3).replaceAll("\\?.*", "");
+            String itemResponse = "PUT".equals(matcher.group(2))
+                                      ? "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n\r\n" + path
+                                      : "HTTP/1.1 404 Not Found\r\n\r\n";
+            String contentId = identifyItems ? "Content-ID: <response-item-" + matcher.group(1) + ">\r\n" : "";
+            parts.add("Content-Type: application/http\r\n" + contentId + "\r\n" + itemResponse);
+        }
+        if (identifyItems) {
+            // answered in reverse so the results have to be matched by their ids
+            Collections.reverse(parts);
+        }
+        StringBuilder response = new StringBuilder();
+        for (String part : parts) {
+            response.append("--response_boundary\r\n").append(part).append("\r\n");
+        }
+        response.append("--response_boundary--\r\n");
+
+        return new MockResponse().addHeader("Content-Type", "multipart/mixed; boundary=response_boundary").setBody(response.toString());
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.synopsys.integration.rest.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.exception.PartialSendException;
+import com.synopsys.integration.rest.request.Request;
+
+public class WriteBehindQueueTest {
+    private final List<List<String>> sentGroups = Collections.synchronizedList(new ArrayList<>());
+    private final PrintStreamIntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+
+    @Test
+    public void testGroupsAreFlushedBySizeAndOnClose() throws InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(logger, this::record, 100, 3, TimeUnit.HOURS.toMillis(1), 1);
+        for (int i = 0; i < 4; i++) {
+            queue.put(createRequest("http://localhost/api/notifications?id=" + i));
+        }
+        queue.put(createRequest("http://localhost/api/audit"));
+
+        assertTrue(queue.close(10, TimeUnit.SECONDS));
+
+        assertEquals(3, sentGroups.size());
+        assertEquals(3, sentGroups.get(0).size());
+        assertTrue(sentGroups.contains(Collections.singletonList("http://localhost/api/notifications?id=3")));
+        assertTrue(sentGroups.contains(Collections.singletonList("http://localhost/api/audit")));
+        assertEquals(5, queue.getSentCount());
+        assertEquals(0, queue.getPendingCount());
+        assertThrows(IllegalStateException.class, () -> queue.offer(createRequest("http://localhost/api/audit")));
+    }
+
+    @Test
+    public void testGroupIsFlushedAfterDelay() throws InterruptedException {
+        CountDownLatch sent = new CountDownLatch(1);
+        WriteBehindQueue queue = new WriteBehindQueue(logger, (endpoint, requests) -> {
+            record(endpoint, requests);
+            sent.countDown();
+        }, 100, 50, 50, 1);
+
+        assertTrue(queue.offer(createRequest("http://localhost/api/audit")));
+        assertTrue(queue.offer(createRequest("http://localhost/api/audit")));
+
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        assertEquals(1, sentGroups.size());
+        assertEquals(2, sentGroups.get(0).size());
+        queue.close();
+    }
+
+    @Test
+    public void testFullQueueRefusesUntilSent() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = new WriteBehindQueue(logger, (endpoint, requests) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(endpoint, requests);
+        }, 2, 1, 0, 1);
+
+        assertTrue(queue.offer(createRequest("http://localhost/a")));
+        assertTrue(queue.offer(createRequest("http://localhost/b")));
+        assertFalse(queue.offer(createRequest("http://localhost/c")));
+        assertFalse(queue.offer(createRequest("http://localhost/c"), 20, TimeUnit.MILLISECONDS));
+        assertEquals(2, queue.getPendingCount());
+
+        release.countDown();
+        assertTrue(queue.offer(createRequest("http://localhost/c"), 10, TimeUnit.SECONDS));
+        queue.close();
+
+        assertEquals(3, queue.getSentCount());
+    }
+
+    @Test
+    public void testFailuresAreCounted() throws InterruptedException {
+        WriteBehindQueue queue = new WriteBehindQueue(logger, (endpoint, requests) -> {
+            throw new IntegrationException("unreachable");
+        }, 10, 2, 0, 2);
+        queue.put(createRequest("http://localhost/a"));
+        queue.put(createRequest("http://localhost/a"));
+        queue.close();
+
+        assertEquals(0, queue.getSentCount());
+        assertEquals(2, queue.getFailedCount());
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test
+    public void testPartialFailuresCountOnlyTheFailedRequests() throws InterruptedException {
+        List<Boolean> daemonSenders = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue queue = new WriteBehindQueue(logger, (endpoint, requests) -> {
+            daemonSenders.add(Thread.currentThread().isDaemon());
+            throw new PartialSendException(1, "1 of 3 requests failed");
+        }, 10, 3, TimeUnit.HOURS.toMillis(1), 1);
+        for (int i = 0; i < 3; i++) {
+            queue.put(createRequest("http://localhost/a"));
+        }
+        queue.close();
+
+        assertEquals(2, queue.getSentCount());
+        assertEquals(1, queue.getFailedCount());
+        assertEquals(Collections.singletonList(true), daemonSenders);
+    }
+
+    private void record(String endpoint, List<Request> requests) {
+        sentGroups.add(requests.stream().map(Request::getUri).collect(Collectors.toList()));
+    }
+
+    private Request createRequest(String uri) {
+        return new Request.Builder(uri).method(HttpMethod.POST).build();
+    }
+
+}
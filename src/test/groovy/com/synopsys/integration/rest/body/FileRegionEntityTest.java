@@ -0,0 +1,69 @@
+package com.synopsys.integration.rest.body;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.rest.request.Request;
+
+public class FileRegionEntityTest {
+    private final byte[] content = new byte[200000];
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        new Random(3).nextBytes(content);
+        path = Files.createTempFile("region", ".bin");
+        Files.write(path, content);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testWriteRegion() throws IOException {
+        FileRegionEntity fileRegionEntity = new FileRegionEntity(path, 70000, 100000, ContentType.APPLICATION_OCTET_STREAM);
+        byte[] expected = Arrays.copyOfRange(content, 70000, 170000);
+
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            fileRegionEntity.writeTo(outputStream);
+            assertArrayEquals(expected, outputStream.toByteArray());
+        }
+        try (InputStream inputStream = fileRegionEntity.getContent()) {
+            assertArrayEquals(expected, IOUtils.toByteArray(inputStream));
+        }
+
+        FileRegionEntity pastTheEnd = new FileRegionEntity(path, 150000, 100000, null);
+        assertThrows(IOException.class, () -> pastTheEnd.writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testFileBodyContentSendsWholeFile() throws IOException {
+        Request request = new Request.Builder("https://www.synopsys.com").mimeType("application/octet-stream").build();
+        HttpEntity entity = new FileBodyContent(path.toFile()).createEntity(request);
+        assertEquals(content.length, entity.getContentLength());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        assertArrayEquals(content, outputStream.toByteArray());
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.synopsys.integration.rest.body;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpEntity;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.request.Request;
+
+public class ObjectBodyContentTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testObjectIsRepeatable() throws IOException {
+        ObjectBodyContent objectBodyContent = new ObjectBodyContent(gson, new Project("alpha", 3));
+        HttpEntity entity = objectBodyContent.createEntity(createRequest(objectBodyContent));
+        assertTrue(entity.isRepeatable());
+        assertEquals("{\"name\":\"alpha\",\"versionCount\":3}", write(entity));
+        assertEquals("{\"name\":\"alpha\",\"versionCount\":3}", write(entity));
+        assertEquals("application/json; charset=UTF-8", entity.getContentType().getValue());
+    }
+
+    @Test
+    public void testIterators() throws IOException {
+        List<Project> projects = Arrays.asList(new Project("alpha", 1), new Project("beta", 2));
+        String expected = "[{\"name\":\"alpha\",\"versionCount\":1},{\"name\":\"beta\",\"versionCount\":2}]";
+
+        ObjectBodyContent repeatable = new ObjectBodyContent(gson, projects::iterator);
+        HttpEntity repeatableEntity = repeatable.createEntity(createRequest(repeatable));
+        assertEquals(expected, write(repeatableEntity));
+        assertEquals(expected, write(repeatableEntity));
+
+        ObjectBodyContent once = new ObjectBodyContent(gson, projects.iterator());
+        HttpEntity onceEntity = once.createEntity(createRequest(once));
+        assertFalse(once.isRepeatable());
+        assertEquals(expected, write(onceEntity));
+        assertThrows(IllegalStateException.class, () -> write(onceEntity));
+    }
+
+    @Test
+    public void testMissingBodyEncodingDefaultsToUtf8() throws IOException {
+        ObjectBodyContent objectBodyContent = new ObjectBodyContent(gson, new Project("\u00e9t\u00e9", 1));
+        HttpEntity objectEntity = objectBodyContent.createEntity(new Request.Builder("https://www.synopsys.com").method(HttpMethod.POST).bodyEncoding(null).bodyContent(objectBodyContent).build());
+        assertEquals("application/json; charset=UTF-8", objectEntity.getContentType().getValue());
+        assertEquals("{\"name\":\"\u00e9t\u00e9\",\"versionCount\":1}", write(objectEntity));
+
+        NdjsonBodyContent ndjsonBodyContent = new NdjsonBodyContent(gson, Arrays.asList("\u00e9").iterator());
+        HttpEntity ndjsonEntity = ndjsonBodyContent.createEntity(new Request.Builder("https://www.synopsys.com").method(HttpMethod.POST).bodyEncoding(null).bodyContent(ndjsonBodyContent).build());
+        assertEquals("application/x-ndjson; charset=UTF-8", ndjsonEntity.getContentType().getValue());
+        assertEquals("\"\u00e9\"\n", write(ndjsonEntity));
+    }
+
+    private Request createRequest(ObjectBodyContent objectBodyContent) {
+        return new Request.Builder("https://www.synopsys.com").method(HttpMethod.POST).bodyContent(objectBodyContent).build();
+    }
+
+    private String write(HttpEntity entity) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class Project {
+        private final String name;
+        private final int versionCount;
+
+        public Project(String name, int versionCount) {
+            this.name = name;
+            this.versionCount = versionCount;
+        }
+
+    }
+
+}
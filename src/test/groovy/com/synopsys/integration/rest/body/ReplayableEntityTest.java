@@ -0,0 +1,52 @@
+package com.synopsys.integration.rest.body;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.http.entity.InputStreamEntity;
+import org.junit.jupiter.api.Test;
+
+public class ReplayableEntityTest {
+    private final byte[] content = new byte[50000];
+
+    public ReplayableEntityTest() {
+        new Random(5).nextBytes(content);
+    }
+
+    @Test
+    public void testReplayFromMemoryAndFile() throws IOException {
+        for (int memoryThreshold : new int[] { 100000, 1000 }) {
+            ReplayableEntity replayableEntity = new ReplayableEntity(new InputStreamEntity(new ByteArrayInputStream(content)), memoryThreshold, 100000);
+            assertTrue(replayableEntity.isRepeatable());
+            assertArrayEquals(content, write(replayableEntity));
+            assertTrue(replayableEntity.isRepeatable());
+            assertArrayEquals(content, write(replayableEntity));
+
+            replayableEntity.release();
+            assertFalse(replayableEntity.isRepeatable());
+        }
+    }
+
+    @Test
+    public void testContentPastTheLimitIsNotReplayed() throws IOException {
+        ReplayableEntity replayableEntity = new ReplayableEntity(new InputStreamEntity(new ByteArrayInputStream(content)), 1000, 10000);
+        assertArrayEquals(content, write(replayableEntity));
+        assertTrue(replayableEntity.isOverflowed());
+        assertFalse(replayableEntity.isRepeatable());
+        assertThrows(IllegalStateException.class, () -> write(replayableEntity));
+    }
+
+    private byte[] write(ReplayableEntity replayableEntity) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        replayableEntity.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.synopsys.integration.rest.body;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.content.ByteArrayBody;
+import org.apache.http.entity.mime.content.InputStreamBody;
+import org.apache.http.entity.mime.content.StringBody;
+import org.junit.jupiter.api.Test;
+
+public class StreamingMultipartBodyContentTest {
+    private final byte[] content = "generated scan content".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testPartsLength() {
+        StreamingMultipartBodyContent known = new StreamingMultipartBodyContent(Arrays.asList(
+            StreamingMultipartBodyContent.Part.text("projectName", "alpha"),
+            StreamingMultipartBodyContent.Part.inputStream("scan", "scan.json", () -> new ByteArrayInputStream(content), content.length),
+            StreamingMultipartBodyContent.Part.byteBuffer("signature", "scan.sig", ByteBuffer.allocateDirect(16))));
+        assertEquals(5 + content.length + 16, known.getPartsLength());
+        assertTrue(known.isRepeatable());
+
+        StreamingMultipartBodyContent unknown = new StreamingMultipartBodyContent(Arrays.asList(
+            StreamingMultipartBodyContent.Part.text("projectName", "alpha"),
+            StreamingMultipartBodyContent.Part.inputStream("scan", "scan.json", () -> new ByteArrayInputStream(content), InputStreamSupplierBody.UNKNOWN_LENGTH)));
+        assertEquals(-1, unknown.getPartsLength());
+        assertFalse(unknown.isRepeatable());
+    }
+
+    @Test
+    public void testOneShotPartsAreNotRepeatable() {
+        StreamingMultipartBodyContent oneShot = new StreamingMultipartBodyContent(Arrays.asList(
+            StreamingMultipartBodyContent.Part.text("projectName", "alpha"),
+            StreamingMultipartBodyContent.Part.contentBody("scan", new InputStreamBody(new ByteArrayInputStream(content), ContentType.DEFAULT_BINARY, "scan.json") {
+                @Override
+                public long getContentLength() {
+                    return content.length;
+                }
+            })));
+        assertEquals(5 + content.length, oneShot.getPartsLength());
+        assertFalse(oneShot.isRepeatable());
+
+        StreamingMultipartBodyContent known = new StreamingMultipartBodyContent(Arrays.asList(
+            StreamingMultipartBodyContent.Part.contentBody("projectName", new StringBody("alpha", ContentType.DEFAULT_TEXT)),
+            StreamingMultipartBodyContent.Part.contentBody("scan", new ByteArrayBody(content, ContentType.DEFAULT_BINARY, "scan.json"))));
+        assertTrue(known.isRepeatable());
+    }
+
+    @Test
+    public void testBodiesAreRepeatable() throws IOException {
+        InputStreamSupplierBody inputStreamSupplierBody = new InputStreamSupplierBody(() -> new ByteArrayInputStream(content), content.length, ContentType.DEFAULT_BINARY, "scan.json");
+        assertArrayEquals(content, write(inputStreamSupplierBody::writeTo));
+        assertArrayEquals(content, write(inputStreamSupplierBody::writeTo));
+
+        InputStreamSupplierBody wrongLength = new InputStreamSupplierBody(() -> new ByteArrayInputStream(content), 3, ContentType.DEFAULT_BINARY, "scan.json");
+        assertThrows(IOException.class, () -> write(wrongLength::writeTo));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length + 4);
+        direct.put(new byte[4]).put(content).position(4);
+        ByteBufferBody directBody = new ByteBufferBody(direct, ContentType.DEFAULT_BINARY, "scan.json");
+        assertArrayEquals(content, write(directBody::writeTo));
+        assertArrayEquals(content, write(directBody::writeTo));
+
+        ByteBuffer slice = ByteBuffer.wrap(new byte[content.length + 4], 2, content.length).slice();
+        slice.put(content).flip();
+        assertArrayEquals(content, write(new ByteBufferBody(slice, ContentType.DEFAULT_BINARY, "scan.json")::writeTo));
+    }
+
+    private byte[] write(PartWriter partWriter) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        partWriter.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface PartWriter {
+        void writeTo(ByteArrayOutputStream outputStream) throws IOException;
+    }
+
+}
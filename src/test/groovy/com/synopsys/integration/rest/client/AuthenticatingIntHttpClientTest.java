@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashMap;
 
 import org.apache.http.ProtocolVersion;
@@ -25,6 +26,7 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.log.Slf4jIntLogger;
 import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.request.Response;
@@ -32,6 +34,7 @@ import com.synopsys.integration.rest.request.Response;
 class AuthenticatingIntHttpClientTest {
     private boolean isAuthenticated = false;
     private boolean isAuthenticationExpired = false;
+    private boolean isAuthenticationRejected = false;
 
     private final CloseableHttpResponse successfulResponse = Mockito.mock(CloseableHttpResponse.class);
     private final CloseableHttpResponse failureResponse = Mockito.mock(CloseableHttpResponse.class);
@@ -41,6 +44,7 @@ class AuthenticatingIntHttpClientTest {
     void setUp() throws IOException {
         isAuthenticated = false;
         isAuthenticationExpired = false;
+        isAuthenticationRejected = false;
         Mockito.when(successfulResponse.getStatusLine()).thenReturn(new StatusLine() {
             @Override
             public ProtocolVersion getProtocolVersion() {
@@ -100,7 +104,7 @@ class AuthenticatingIntHttpClientTest {
             @Override
             protected void completeAuthenticationRequest(final HttpUriRequest request, final Response response) {
                 isAuthenticated = true;
-                isAuthenticationExpired = false;
+                isAuthenticationExpired = isAuthenticationRejected;
             }
 
             @Override
@@ -138,4 +142,19 @@ class AuthenticatingIntHttpClientTest {
         final Response failedResponse = authenticatingIntHttpClient.execute(request);
         Assertions.assertEquals(new Integer(RestConstants.OK_200), failedResponse.getStatusCode(), "Expected an authenticated but expired request to be successful because the authentication should have been reattempted.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRejectedAuthenticationIsStackless() throws URISyntaxException {
+        isAuthenticated = true;
+        isAuthenticationExpired = true;
+        isAuthenticationRejected = true;
+        authenticatingIntHttpClient.setStacklessErrorStatusCodes(Collections.singleton(RestConstants.UNAUTHORIZED_401));
+        final HttpUriRequest request = Mockito.mock(HttpUriRequest.class);
+        Mockito.when(request.getURI()).thenReturn(new URI("http://synopsys.com"));
+
+        final IntegrationRestException exception = Assertions.assertThrows(IntegrationRestException.class, () -> authenticatingIntHttpClient.execute(request));
+        Assertions.assertEquals(RestConstants.UNAUTHORIZED_401, exception.getHttpStatusCode());
+        Assertions.assertEquals(0, exception.getStackTrace().length, "Expected the status codes of the client to decide whether the exception has a stack trace.");
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.synopsys.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class ChunkedUploadTest {
+    private final byte[] content = new byte[100000];
+    private final byte[] received = new byte[content.length];
+    private final Set<Long> failingOffsets = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Set<Long> failedOnceOffsets = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Set<Long> rejectedOffsets = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final AtomicInteger rejections = new AtomicInteger();
+    private final Set<String> emptyContentRanges = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final MockWebServer server = new MockWebServer();
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        new Random(11).nextBytes(content);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        server.start();
+        path = Files.createTempFile("upload", ".bin");
+        Files.write(path, content);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testUploadRetriesAndResumes() throws IntegrationException {
+        failingOffsets.add(60000L);
+        failedOnceOffsets.add(20000L);
+        AtomicLong lastProgress = new AtomicLong();
+        ChunkedUpload chunkedUpload = new ChunkedUpload(createIntHttpClient(), 20000, 3, 2, (offset, length, uploaded, total) -> lastProgress.accumulateAndGet(uploaded, Math::max));
+
+        ChunkedUpload.Result firstResult = chunkedUpload.upload(createRequest(), path);
+        assertFalse(firstResult.isComplete());
+        assertEquals(Collections.singleton(60000L), firstResult.getFailures().keySet());
+        assertEquals(4, firstResult.getCompletedOffsets().size());
+        assertEquals(80000, lastProgress.get());
+
+        failingOffsets.clear();
+        ChunkedUpload.Result secondResult = chunkedUpload.upload(createRequest(), path, firstResult);
+        assertTrue(secondResult.isComplete());
+        assertEquals(5, secondResult.getCompletedOffsets().size());
+        assertEquals(content.length, lastProgress.get());
+        assertArrayEquals(content, received);
+    }
+
+    @Test
+    public void testEmptyFileIsSentAsOneEmptyChunk() throws IntegrationException, IOException {
+        Files.write(path, new byte[0]);
+        ChunkedUpload chunkedUpload = new ChunkedUpload(createIntHttpClient());
+
+        ChunkedUpload.Result result = chunkedUpload.upload(createRequest(), path);
+        assertTrue(result.isComplete());
+        assertEquals(Collections.singleton(0L), result.getCompletedOffsets());
+        assertEquals(Collections.singleton("bytes */0"), emptyContentRanges);
+    }
+
+    @Test
+    public void testRejectedChunksAreNotRetried() throws IntegrationException {
+        rejectedOffsets.add(40000L);
+        ChunkedUpload chunkedUpload = new ChunkedUpload(createIntHttpClient(), 20000, 3, 3, null);
+
+        ChunkedUpload.Result result = chunkedUpload.upload(createRequest(), path);
+        assertFalse(result.isComplete());
+        assertEquals(Collections.singleton(40000L), result.getFailures().keySet());
+        assertEquals(4, result.getCompletedOffsets().size());
+        assertEquals(1, rejections.get());
+    }
+
+    private IntHttpClient createIntHttpClient() {
+        return new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+    }
+
+    private Request createRequest() {
+        return new Request.Builder(server.url("/upload").toString()).method(HttpMethod.PUT).mimeType("application/octet-stream").build();
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        // bytes 20000-39999/100000
+        String contentRange = request.getHeader(HttpHeaders.CONTENT_RANGE);
+        if (contentRange.startsWith("bytes */")) {
+            emptyContentRanges.add(contentRange);
+            return new MockResponse().setResponseCode(RestConstants.OK_200);
+        }
+        long start = Long.parseLong(contentRange.substring("bytes ".length(), contentRange.indexOf('-')));
+        byte[] body = request.getBody().readByteArray();
+        if (rejectedOffsets.contains(start)) {
+            rejections.incrementAndGet();
+            return new MockResponse().setResponseCode(RestConstants.CONFLICT_409);
+        }
+        if (failingOffsets.contains(start) || failedOnceOffsets.remove(start)) {
+            return new MockResponse().setResponseCode(RestConstants.UNAVAILABLE_503);
+        }
+        System.arraycopy(body, 0, received, (int) start, body.length);
+        return new MockResponse().setResponseCode(ChunkedUpload.RESUME_INCOMPLETE_308);
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.synopsys.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.StringBodyContent;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+public class CompressionPolicyTest {
+    private final String largeBody = StringUtils.repeat("{\"component\":\"x\"},", 2000);
+    private final MockWebServer server = new MockWebServer();
+    private String receivedContentEncoding;
+    private String receivedAcceptEncoding;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    return handle(request);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testRequestBodiesAreCompressedForConfiguredUris() throws IntegrationException, IOException {
+        IntHttpClient intHttpClient = new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+        intHttpClient.setCompressionPolicy(new CompressionPolicy(Collections.singleton(getBaseUri() + "/bulk")));
+
+        assertEquals(largeBody, post(intHttpClient, "/bulk/bom", largeBody));
+        assertEquals("gzip", receivedContentEncoding);
+
+        assertEquals("small", post(intHttpClient, "/bulk/bom", "small"));
+        assertNull(receivedContentEncoding);
+
+        assertEquals(largeBody, post(intHttpClient, "/projects", largeBody));
+        assertNull(receivedContentEncoding);
+
+        HttpPost httpPost = new HttpPost(getBaseUri() + "/bulk/bom");
+        httpPost.setEntity(new StringEntity(largeBody, StandardCharsets.UTF_8));
+        try (Response response = intHttpClient.execute(httpPost)) {
+            assertEquals(largeBody, response.getContentString());
+        }
+        assertEquals("gzip", receivedContentEncoding);
+    }
+
+    @Test
+    public void testCompressedResponsesCanBeRefused() throws IntegrationException, IOException {
+        IntHttpClient intHttpClient = new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+        intHttpClient.setCompressionPolicy(new CompressionPolicy(CompressionPolicy.DEFAULT_MINIMUM_BYTES, Collections.emptyList(), false));
+
+        assertEquals(largeBody, post(intHttpClient, "/projects", largeBody));
+        assertEquals(CompressionPolicy.IDENTITY_ENCODING, receivedAcceptEncoding);
+
+        receivedAcceptEncoding = null;
+        intHttpClient.executeGetRequestIfModifiedSince(new Request.Builder(getBaseUri() + "/projects").build(), 1L).get().close();
+        assertEquals(CompressionPolicy.IDENTITY_ENCODING, receivedAcceptEncoding);
+    }
+
+    private String post(IntHttpClient intHttpClient, String path, String body) throws IntegrationException, IOException {
+        Request request = new Request.Builder(getBaseUri() + path).method(HttpMethod.POST).bodyContent(new StringBodyContent(body)).build();
+        try (Response response = intHttpClient.execute(request)) {
+            return response.getContentString();
+        }
+    }
+
+    private String getBaseUri() {
+        return "http://localhost:" + server.getPort();
+    }
+
+    private MockResponse handle(RecordedRequest request) throws IOException {
+        receivedContentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        receivedAcceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        InputStream requestBody = new ByteArrayInputStream(request.getBody().readByteArray());
+        if ("gzip".equals(receivedContentEncoding)) {
+            requestBody = new GZIPInputStream(requestBody);
+        }
+        byte[] body = IOUtils.toByteArray(requestBody);
+
+        MockResponse response = new MockResponse().setResponseCode(RestConstants.OK_200);
+        if (StringUtils.contains(receivedAcceptEncoding, "gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream outputStream = new GZIPOutputStream(compressed)) {
+                outputStream.write(body);
+            }
+            body = compressed.toByteArray();
+            response.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.setBody(new Buffer().write(body));
+    }
+
+}
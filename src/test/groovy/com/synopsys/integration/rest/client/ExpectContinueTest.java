@@ -0,0 +1,188 @@
+package com.synopsys.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.ReplayableEntity;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Response;
+
+public class ExpectContinueTest {
+    @Test
+    public void testOnlyLargeBodiesExpectContinue() {
+        IntHttpClient intHttpClient = createIntHttpClient();
+        intHttpClient.setExpectContinueThresholdBytes(1000);
+
+        HttpPost small = new HttpPost("http://localhost/small");
+        small.setEntity(new ByteArrayEntity(new byte[10]));
+        intHttpClient.prepareExpectContinue(small);
+        assertNull(small.getConfig());
+
+        HttpPost large = new HttpPost("http://localhost/large");
+        large.setEntity(new ByteArrayEntity(new byte[1000]));
+        intHttpClient.prepareExpectContinue(large);
+        assertTrue(large.getConfig().isExpectContinueEnabled());
+        assertEquals(30 * 1000, large.getConfig().getSocketTimeout());
+
+        HttpPost unknownLength = new HttpPost("http://localhost/unknown");
+        unknownLength.setEntity(new InputStreamEntity(new ByteArrayInputStream(new byte[10])));
+        intHttpClient.prepareExpectContinue(unknownLength);
+        assertNull(unknownLength.getConfig());
+    }
+
+    @Test
+    public void testRejectedRequestSendsNoBody() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            CompletableFuture<String> expectHeader = CompletableFuture.supplyAsync(() -> rejectWithoutReadingBody(serverSocket));
+
+            IntHttpClient intHttpClient = createIntHttpClient();
+            intHttpClient.setExpectContinueThresholdBytes(1000);
+            HttpPost post = new HttpPost("http://localhost:" + serverSocket.getLocalPort() + "/upload");
+            post.setEntity(new InputStreamEntity(new ByteArrayInputStream(new byte[2 * 1024 * 1024]), 2 * 1024 * 1024));
+
+            try (Response response = intHttpClient.execute(post)) {
+                assertEquals(RestConstants.UNAUTHORIZED_401, response.getStatusCode().intValue());
+            }
+            assertEquals("100-continue", expectHeader.get());
+            assertFalse(((ReplayableEntity) post.getEntity()).isWritten());
+        }
+    }
+
+    @Test
+    public void testBodyWithheldFromExpiredTokenIsSentAfterAuthenticating() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            CompletableFuture<List<String>> uploads = CompletableFuture.supplyAsync(() -> acceptSecondToken(serverSocket));
+
+            String baseUrl = "http://localhost:" + serverSocket.getLocalPort();
+            TokenClient tokenClient = new TokenClient(baseUrl + "/token");
+            tokenClient.setReplayBuffering(1024, 4096);
+            tokenClient.setExpectContinueThresholdBytes(IntHttpClient.DEFAULT_EXPECT_CONTINUE_THRESHOLD_BYTES);
+            HttpPost post = new HttpPost(baseUrl + "/upload");
+            post.setEntity(new InputStreamEntity(new ByteArrayInputStream(new byte[2 * 1024 * 1024]), 2 * 1024 * 1024));
+
+            try (Response response = tokenClient.execute(post)) {
+                assertEquals(RestConstants.OK_200, response.getStatusCode().intValue());
+            }
+            assertEquals(Arrays.asList("Bearer 1 0", "Bearer 2 " + 2 * 1024 * 1024), uploads.get());
+            assertTrue(((ReplayableEntity) post.getEntity()).isOverflowed());
+        }
+    }
+
+    private List<String> acceptSecondToken(ServerSocket serverSocket) {
+        List<String> uploads = new ArrayList<>();
+        while (uploads.size() < 2) {
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                String requestLine = reader.readLine();
+                String authorization = null;
+                long contentLength = 0;
+                String line;
+                while (null != (line = reader.readLine()) && !line.isEmpty()) {
+                    String value = line.substring(line.indexOf(':') + 1).trim();
+                    if (line.toLowerCase().startsWith(HttpHeaders.AUTHORIZATION.toLowerCase() + ":")) {
+                        authorization = value;
+                    } else if (line.toLowerCase().startsWith(HttpHeaders.CONTENT_LENGTH.toLowerCase() + ":")) {
+                        contentLength = Long.parseLong(value);
+                    }
+                }
+                OutputStream outputStream = socket.getOutputStream();
+                if (requestLine.contains("/token")) {
+                    outputStream.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                } else if ("Bearer 1".equals(authorization)) {
+                    uploads.add(authorization + " 0");
+                    outputStream.write("HTTP/1.1 401 Unauthorized\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                } else {
+                    outputStream.write("HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    outputStream.flush();
+                    long received = 0;
+                    while (received < contentLength && -1 != reader.read()) {
+                        received++;
+                    }
+                    uploads.add(authorization + " " + received);
+                    outputStream.write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return uploads;
+    }
+
+    private String rejectWithoutReadingBody(ServerSocket serverSocket) {
+        try (Socket socket = serverSocket.accept()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String expect = null;
+            String line;
+            while (null != (line = reader.readLine()) && !line.isEmpty()) {
+                if (line.toLowerCase().startsWith(HttpHeaders.EXPECT.toLowerCase() + ":")) {
+                    expect = line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write("HTTP/1.1 401 Unauthorized\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            return expect;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private IntHttpClient createIntHttpClient() {
+        return new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+    }
+
+    private static class TokenClient extends AuthenticatingIntHttpClient {
+        private final String tokenUrl;
+        private int tokenCount = 0;
+
+        public TokenClient(String tokenUrl) {
+            super(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+            this.tokenUrl = tokenUrl;
+        }
+
+        @Override
+        public boolean isAlreadyAuthenticated(HttpUriRequest request) {
+            return request.containsHeader(HttpHeaders.AUTHORIZATION) || tokenUrl.equals(request.getURI().toString());
+        }
+
+        @Override
+        public Response attemptAuthentication() throws IntegrationException {
+            return super.execute(new HttpGet(tokenUrl));
+        }
+
+        @Override
+        protected void completeAuthenticationRequest(HttpUriRequest request, Response response) {
+            tokenCount++;
+            request.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenCount);
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.synopsys.integration.rest.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.digest.ContentDigest;
+import com.synopsys.integration.rest.digest.DigestAlgorithm;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+public class IntHttpClientDownloadTest {
+    private final byte[] content = new byte[3 * 1024 * 1024 + 17];
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private final MockWebServer server = new MockWebServer();
+    private boolean supportsRanges = true;
+    private final AtomicBoolean failOneSegment = new AtomicBoolean();
+    private volatile boolean failSegments;
+    private volatile int segmentFailureStatus = RestConstants.UNAVAILABLE_503;
+    private volatile String headETag;
+    private volatile long slowSegmentMillis;
+    private final Set<String> segmentIfRanges = ConcurrentHashMap.newKeySet();
+    private volatile String eTag;
+    private volatile String lastIfRange;
+    private Path path;
+    private Path validatorPath;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        new Random(7).nextBytes(content);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        server.start();
+        path = Files.createTempFile("download", ".bin");
+        Files.delete(path);
+        validatorPath = path.resolveSibling(path.getFileName() + IntHttpClient.VALIDATOR_FILE_SUFFIX);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(validatorPath);
+    }
+
+    @Test
+    public void testDownloadResumesFromPartialFile() throws IntegrationException, IOException {
+        IntHttpClient intHttpClient = createIntHttpClient();
+
+        Files.write(path, Arrays.copyOf(content, 30000));
+        DownloadResult resumed = intHttpClient.download(createRequest(), path);
+        assertEquals(RestConstants.PARTIAL_206, resumed.getHttpStatusCode());
+        assertTrue(resumed.isResumed());
+        assertEquals(content.length - 30000, resumed.getBytesWritten());
+        assertArrayEquals(content, Files.readAllBytes(path));
+
+        DownloadResult complete = intHttpClient.download(createRequest(), path);
+        assertEquals(RestConstants.RANGE_NOT_SATISFIABLE_416, complete.getHttpStatusCode());
+        assertEquals(0, complete.getBytesWritten());
+        assertArrayEquals(content, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void testResumeIsConditional() throws IntegrationException, IOException {
+        IntHttpClient intHttpClient = createIntHttpClient();
+        eTag = "\"v2\"";
+
+        Files.write(path, Arrays.copyOf(content, 30000));
+        Files.write(validatorPath, eTag.getBytes(StandardCharsets.UTF_8));
+        DownloadResult resumed = intHttpClient.download(createRequest(), path);
+        assertEquals(eTag, lastIfRange);
+        assertEquals(RestConstants.PARTIAL_206, resumed.getHttpStatusCode());
+        assertArrayEquals(content, Files.readAllBytes(path));
+        assertFalse(Files.exists(validatorPath));
+
+        Files.write(path, new byte[30000]);
+        Files.write(validatorPath, "\"v1\"".getBytes(StandardCharsets.UTF_8));
+        DownloadResult changed = intHttpClient.download(createRequest(), path);
+        assertEquals("\"v1\"", lastIfRange);
+        assertEquals(RestConstants.OK_200, changed.getHttpStatusCode());
+        assertFalse(changed.isResumed());
+        assertArrayEquals(content, Files.readAllBytes(path));
+        assertFalse(Files.exists(validatorPath));
+    }
+
+    @Test
+    public void testDigestIncludesResumedPrefix() throws IntegrationException, IOException {
+        IntHttpClient intHttpClient = createIntHttpClient();
+        MessageDigest messageDigest = DigestAlgorithm.SHA_256.createMessageDigest();
+        messageDigest.update(content);
+        String expected = ContentDigest.of(DigestAlgorithm.SHA_256, messageDigest).getHex();
+
+        Files.write(path, Arrays.copyOf(content, 30000));
+        DownloadResult downloadResult = intHttpClient.download(createRequest(), path, DigestAlgorithm.SHA_256, expected);
+        assertTrue(downloadResult.isResumed());
+        assertEquals(expected, downloadResult.getContentDigest().get().getHex());
+
+        Files.write(path, Arrays.copyOf(content, 30000));
+        assertThrows(IntegrationException.class, () -> intHttpClient.download(createRequest(), path, DigestAlgorithm.SHA_256, "00"));
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testDownloadStartsOverWithoutRangeSupport() throws IntegrationException, IOException {
+        supportsRanges = false;
+        Files.write(path, new byte[50000]);
+        DownloadResult downloadResult = createIntHttpClient().download(createRequest(), path);
+        assertEquals(RestConstants.OK_200, downloadResult.getHttpStatusCode());
+        assertFalse(downloadResult.isResumed());
+        assertArrayEquals(content, Files.readAllBytes(path));
+
+        Files.delete(path);
+        DownloadResult singleStream = createIntHttpClient().download(createRequest(), path, 4);
+        assertEquals(RestConstants.OK_200, singleStream.getHttpStatusCode());
+        assertArrayEquals(content, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void testSegmentedDownloadRetriesFailedSegments() throws IntegrationException, IOException {
+        failOneSegment.set(true);
+        DownloadResult downloadResult = createIntHttpClient().download(createRequest(), path, 3);
+        assertEquals(content.length, downloadResult.getBytesWritten());
+        assertEquals(4, rangeRequests.get());
+        assertArrayEquals(content, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void testFailedSegmentedDownloadLeavesNoFile() throws IntegrationException, IOException {
+        failSegments = true;
+        assertThrows(IntegrationException.class, () -> createIntHttpClient().download(createRequest(), path, 3));
+        assertFalse(Files.exists(path));
+        try (Stream<Path> siblings = Files.list(path.getParent())) {
+            assertFalse(siblings.anyMatch(sibling -> sibling.getFileName().toString().startsWith(path.getFileName().toString())));
+        }
+
+        failSegments = false;
+        DownloadResult downloadResult = createIntHttpClient().download(createRequest(), path);
+        assertEquals(RestConstants.OK_200, downloadResult.getHttpStatusCode());
+        assertArrayEquals(content, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void testSegmentsAreConditionalAndOnlyRetriedWhenRetryable() throws IntegrationException, IOException {
+        eTag = "\"v1\"";
+        createIntHttpClient().download(createRequest(), path, 3);
+        assertEquals(Collections.singleton(eTag), segmentIfRanges);
+        assertArrayEquals(content, Files.readAllBytes(path));
+
+        Files.delete(path);
+        rangeRequests.set(0);
+        failSegments = true;
+        segmentFailureStatus = RestConstants.NOT_FOUND_404;
+        assertThrows(IntegrationException.class, () -> createIntHttpClient().download(createRequest(), path, 3));
+        assertTrue(rangeRequests.get() <= 3);
+        assertFalse(Files.exists(path));
+
+        rangeRequests.set(0);
+        failSegments = false;
+        headETag = "\"v0\"";
+        assertThrows(IntegrationException.class, () -> createIntHttpClient().download(createRequest(), path, 3));
+        assertTrue(rangeRequests.get() <= 3);
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testFailedSegmentStopsTheOthers() throws Exception {
+        failSegments = true;
+        segmentFailureStatus = RestConstants.NOT_FOUND_404;
+        slowSegmentMillis = 500;
+        assertThrows(IntegrationException.class, () -> createIntHttpClient().download(createRequest(), path, 3));
+        Thread.sleep(1000);
+
+        assertEquals(3, rangeRequests.get());
+        assertFalse(Files.exists(path));
+    }
+
+    private IntHttpClient createIntHttpClient() {
+        return new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO);
+    }
+
+    private Request createRequest() {
+        return new Request.Builder(server.url("/artifact").toString()).build();
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        if ("HEAD".equals(request.getMethod())) {
+            MockResponse headResponse = new MockResponse().setHeader(HttpHeaders.CONTENT_LENGTH, content.length);
+            String validator = null == headETag ? eTag : headETag;
+            if (null != validator) {
+                headResponse.addHeader(HttpHeaders.ETAG, validator);
+            }
+            if (supportsRanges) {
+                headResponse.addHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            }
+            return headResponse;
+        }
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        int start = 0;
+        int end = content.length - 1;
+        MockResponse response = new MockResponse();
+        if (null != eTag) {
+            response.addHeader(HttpHeaders.ETAG, eTag);
+        }
+        lastIfRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (null != range) {
+            segmentIfRanges.add(String.valueOf(lastIfRange));
+            if (!rangeApplies(lastIfRange)) {
+                rangeRequests.incrementAndGet();
+            }
+        }
+        if (supportsRanges && null != range && rangeApplies(lastIfRange)) {
+            String[] bounds = range.substring("bytes=".length()).split("-", -1);
+            start = Integer.parseInt(bounds[0]);
+            if (!bounds[1].isEmpty()) {
+                end = Integer.parseInt(bounds[1]);
+            }
+            rangeRequests.incrementAndGet();
+            if (0 != start && (failSegments || failOneSegment.compareAndSet(true, false))) {
+                if (0 < slowSegmentMillis && end != content.length - 1) {
+                    // a segment that fails in a way worth retrying, but only after another one failed for good
+                    sleep(slowSegmentMillis);
+                    return new MockResponse().setResponseCode(RestConstants.UNAVAILABLE_503);
+                }
+                return new MockResponse().setResponseCode(segmentFailureStatus);
+            }
+            if (start >= content.length) {
+                return new MockResponse().setResponseCode(RestConstants.RANGE_NOT_SATISFIABLE_416).addHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length);
+            }
+            response.setResponseCode(RestConstants.PARTIAL_206).addHeader(HttpHeaders.CONTENT_RANGE, String.format("bytes %d-%d/%d", start, end, content.length));
+        }
+        return response.setBody(new Buffer().write(content, start, end - start + 1));
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean rangeApplies(String ifRange) {
+        return null == eTag || null == ifRange || eTag.equals(ifRange);
+    }
+
+}
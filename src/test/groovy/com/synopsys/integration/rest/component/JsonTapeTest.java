@@ -0,0 +1,90 @@
+package com.synopsys.integration.rest.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.service.IntJsonTransformer;
+
+public class JsonTapeTest {
+    private static final String JSON = "{ \"name\": \"component\", \"count\": 3, \"a/b\": true, \"esc\\\"aped\": \"x\",\n \"items\": [ {\"name\": \"one\", \"tags\": []}, {\"name\": \"two\\u00e9\", \"tags\": [\"t\"]} ], \"empty\": {}, \"none\": null }";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testPointerLookup() {
+        JsonTape jsonTape = JsonTape.of(JSON);
+
+        assertEquals("component", jsonTape.getString("/name").get());
+        assertEquals(3, jsonTape.getJsonElement("/count").get().getAsInt());
+        assertTrue(jsonTape.getJsonElement("/a~1b").get().getAsBoolean());
+        assertEquals("x", jsonTape.getString("/esc\"aped").get());
+        assertEquals("two\u00e9", jsonTape.getString("/items/1/name").get());
+        assertEquals("[\"t\"]", jsonTape.getJson("/items/1/tags").get());
+        assertEquals("{}", jsonTape.getJson("/empty").get());
+        assertTrue(jsonTape.getJsonElement("/none").get().isJsonNull());
+        assertFalse(jsonTape.getString("/none").isPresent());
+
+        assertFalse(jsonTape.contains("/items/2"));
+        assertFalse(jsonTape.contains("/items/one"));
+        assertFalse(jsonTape.contains("/name/first"));
+        assertFalse(jsonTape.contains("/missing"));
+
+        assertEquals(gson.fromJson(JSON, JsonObject.class), jsonTape.getJsonElement());
+    }
+
+    @Test
+    public void testInvalidJson() {
+        assertThrows(JsonParseException.class, () -> JsonTape.of("{\"name\":\"unterminated}"));
+        assertThrows(JsonParseException.class, () -> JsonTape.of("[1,2] 3"));
+    }
+
+    @Test
+    public void testRetainCompactJson() throws IntegrationException {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG), true);
+        ExampleComponent exampleComponent = intJsonTransformer.getComponentAs(JSON, ExampleComponent.class);
+
+        assertEquals("component", exampleComponent.name);
+        assertEquals("one", exampleComponent.getJsonTape().getString("/items/0/name").get());
+        JsonElement jsonElement = exampleComponent.getJsonElement();
+        assertEquals(gson.fromJson(JSON, JsonObject.class), jsonElement);
+        assertNull(jsonElement.getAsJsonObject().get(IntRestComponent.FIELD_NAME_JSON));
+    }
+
+    @Test
+    public void testCompactComponentsKeepNoJsonStrings() throws IntegrationException, ReflectiveOperationException {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG), true);
+        ExampleComponent exampleComponent = intJsonTransformer.getComponentAs(JSON, ExampleComponent.class);
+
+        Field jsonField = IntRestComponent.class.getDeclaredField(IntRestComponent.FIELD_NAME_JSON);
+        jsonField.setAccessible(true);
+        assertNull(jsonField.get(exampleComponent));
+        assertEquals(2, exampleComponent.items.size());
+        for (ExampleComponent item : exampleComponent.items) {
+            assertNull(jsonField.get(item));
+            assertNull(item.getJson());
+        }
+        assertEquals(gson.fromJson(JSON, JsonObject.class), gson.fromJson(exampleComponent.getJson(), JsonObject.class));
+    }
+
+    private static class ExampleComponent extends IntRestComponent {
+        private String name;
+        private List<ExampleComponent> items;
+
+    }
+
+}
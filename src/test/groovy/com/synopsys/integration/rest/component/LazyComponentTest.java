@@ -0,0 +1,183 @@
+package com.synopsys.integration.rest.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.service.IntJsonTransformer;
+
+public class LazyComponentTest {
+    private static final String JSON = "{\"name\":\"parent\",\"child\":{\"name\":\"child\"},\"children\":[{\"name\":\"first\"},{\"name\":\"second\"}],\"missing\":null}";
+
+    private static final String NESTED_JSON = "{\"child\":{\"name\":\"child\"},\"inner\":{\"child\":{\"name\":\"child\"},\"children\":[{\"name\":\"first\"},{\"name\":\"second\"}]}}";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testDeferredDeserialization() throws Exception {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+        ParentComponent parentComponent = intJsonTransformer.getComponentAs(JSON, ParentComponent.class);
+
+        assertEquals("parent", parentComponent.name);
+        assertFalse(parentComponent.child.isResolved());
+        assertFalse(parentComponent.children.isResolved());
+        assertNull(parentComponent.missing);
+
+        ChildComponent childComponent = parentComponent.child.get();
+        assertTrue(parentComponent.child.isResolved());
+        assertEquals("child", childComponent.name);
+        assertNotNull(childComponent.getJson());
+        assertSame(childComponent, parentComponent.child.get());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<ChildComponent>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> parentComponent.children.get()));
+            }
+            List<ChildComponent> children = futures.get(0).get();
+            for (Future<List<ChildComponent>> future : futures) {
+                assertSame(children, future.get());
+            }
+            assertEquals("second", children.get(1).name);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLazyValuesAreNotBuiltUntilAccessed() throws Exception {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+        String json = "{\"name\":\"parent\",\"child\":{\"name\":\"child\"},\"items\":[{\"name\":\"first\"},null]}";
+        CountedComponent.CREATED.set(0);
+        CountingParentComponent parentComponent = intJsonTransformer.getComponentAs(json, CountingParentComponent.class);
+        JsonObject parentJsonObject = parentComponent.getJsonElement().getAsJsonObject();
+
+        assertEquals(0, CountedComponent.CREATED.get());
+        assertSame(parentJsonObject.get("child"), parentComponent.child.getUnresolvedJsonElement());
+        assertSame(parentJsonObject.getAsJsonArray("items").get(0), parentComponent.items.get(0).getUnresolvedJsonElement());
+        assertNull(parentComponent.items.get(1));
+        assertFalse(parentJsonObject.getAsJsonObject("child").has(IntRestComponent.FIELD_NAME_JSON));
+        assertTrue(parentComponent.getJson().contains("\"child\":{\"name\":\"child\"}"));
+
+        CountedComponent childComponent = parentComponent.child.get();
+        assertEquals(1, CountedComponent.CREATED.get());
+        assertEquals("child", childComponent.name);
+        assertEquals("{\"name\":\"child\"}", childComponent.getJson());
+
+        assertEquals("first", parentComponent.items.get(0).get().name);
+        assertEquals(2, CountedComponent.CREATED.get());
+    }
+
+    @Test
+    public void testResolvingLeavesTheParentJsonUnchanged() throws Exception {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+        NestingComponent nestingComponent = intJsonTransformer.getComponentAs(NESTED_JSON, NestingComponent.class);
+        String parentJson = nestingComponent.getJsonElement().toString();
+
+        NestingComponent inner = nestingComponent.inner.get();
+        assertEquals(parentJson, nestingComponent.getJsonElement().toString());
+        assertEquals("child", inner.child.get().name);
+        assertEquals(parentJson, nestingComponent.getJsonElement().toString());
+        assertEquals("{\"name\":\"first\"}", inner.children.get().get(0).getJson());
+        assertEquals(parentJson, nestingComponent.getJsonElement().toString());
+    }
+
+    @Test
+    public void testConcurrentResolvingLeavesTheParentJsonUnchanged() throws Exception {
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            for (int i = 0; i < 50; i++) {
+                NestingComponent nestingComponent = intJsonTransformer.getComponentAs(NESTED_JSON, NestingComponent.class);
+                String parentJson = nestingComponent.getJsonElement().toString();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<String> child = executorService.submit(() -> {
+                    start.await();
+                    return nestingComponent.child.get().name;
+                });
+                Future<String> inner = executorService.submit(() -> {
+                    start.await();
+                    return nestingComponent.inner.get().children.get().get(1).name;
+                });
+                Future<String> serialized = executorService.submit(() -> {
+                    start.await();
+                    return gson.toJson(nestingComponent);
+                });
+                start.countDown();
+
+                assertEquals("child", child.get());
+                assertEquals("second", inner.get());
+                assertFalse(serialized.get().contains("lazy:"));
+                assertEquals(parentJson, nestingComponent.getJsonElement().toString());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSerialization() {
+        ParentComponent parentComponent = gson.fromJson(JSON, ParentComponent.class);
+        assertEquals("{\"name\":\"parent\",\"child\":{\"name\":\"child\"},\"children\":[{\"name\":\"first\"},{\"name\":\"second\"}]}", gson.toJson(parentComponent));
+
+        parentComponent.children.get();
+        parentComponent.child = LazyComponent.of(new ChildComponent());
+        assertEquals("{\"name\":\"parent\",\"child\":{},\"children\":[{\"name\":\"first\"},{\"name\":\"second\"}]}", gson.toJson(parentComponent));
+    }
+
+    private static class ParentComponent extends IntRestComponent {
+        private String name;
+        private LazyComponent<ChildComponent> child;
+        private LazyComponent<List<ChildComponent>> children;
+        private LazyComponent<ChildComponent> missing;
+
+    }
+
+    private static class ChildComponent extends IntRestComponent {
+        private String name;
+
+    }
+
+    private static class CountingParentComponent extends IntRestComponent {
+        private LazyComponent<CountedComponent> child;
+        private List<LazyComponent<CountedComponent>> items;
+
+    }
+
+    private static class NestingComponent extends IntRestComponent {
+        private LazyComponent<ChildComponent> child;
+        private LazyComponent<List<ChildComponent>> children;
+        private LazyComponent<NestingComponent> inner;
+
+    }
+
+    private static class CountedComponent extends IntRestComponent {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        private String name;
+
+        public CountedComponent() {
+            CREATED.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.synopsys.integration.rest.digest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.ClosableTestResponse;
+import com.synopsys.integration.rest.body.FileBodyContent;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class ContentDigestTest {
+    private static final byte[] CHECK_INPUT = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void testCrc32c() {
+        MessageDigest messageDigest = DigestAlgorithm.CRC32C.createMessageDigest();
+        messageDigest.update(CHECK_INPUT, 0, 4);
+        messageDigest.update(CHECK_INPUT, 4, 5);
+        assertEquals("e3069283", ContentDigest.of(DigestAlgorithm.CRC32C, messageDigest).getHex());
+
+        MessageDigest empty = DigestAlgorithm.CRC32C.createMessageDigest();
+        assertEquals("00000000", ContentDigest.of(DigestAlgorithm.CRC32C, empty).getHex());
+    }
+
+    @Test
+    public void testVerify() throws IntegrationException {
+        ContentDigest md5 = digest(DigestAlgorithm.MD5);
+        assertTrue(md5.matches("25F9E794323B453885F5181F1B624D0B"));
+        assertTrue(md5.matches(md5.getBase64()));
+
+        assertFalse(md5.verify(null, createResponse(HttpHeaders.ETAG, "W/\"25f9e794323b453885f5181f1b624d0b\""), true));
+        assertTrue(md5.verify(null, createResponse(HttpHeaders.ETAG, "\"25f9e794323b453885f5181f1b624d0b\""), true));
+        assertFalse(md5.verify(null, createResponse(HttpHeaders.ETAG, "\"00000000000000000000000000000000\"")));
+        assertThrows(IntegrationException.class, () -> md5.verify(null, createResponse(ContentDigest.CONTENT_MD5_HEADER, "AAAAAAAAAAAAAAAAAAAAAA==")));
+
+        ContentDigest sha256 = digest(DigestAlgorithm.SHA_256);
+        assertTrue(sha256.verify(null, createResponse(ContentDigest.DIGEST_HEADER, "md5=abc, SHA-256=" + sha256.getBase64())));
+        assertTrue(sha256.verify(sha256.getHex(), null));
+        assertThrows(IntegrationException.class, () -> sha256.verify(md5.getHex(), null));
+    }
+
+    @Test
+    public void testFileBodyContentDigest() throws IOException {
+        File file = Files.createTempFile("upload", ".txt").toFile();
+        try {
+            Files.write(file.toPath(), CHECK_INPUT);
+            FileBodyContent fileBodyContent = new FileBodyContent(file, DigestAlgorithm.SHA_256);
+            assertFalse(fileBodyContent.getContentDigest().isPresent());
+
+            Request request = new Request.Builder("https://www.synopsys.com").bodyContent(fileBodyContent).build();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            fileBodyContent.createEntity(request).writeTo(outputStream);
+
+            assertEquals(CHECK_INPUT.length, outputStream.size());
+            assertEquals(digest(DigestAlgorithm.SHA_256).getHex(), fileBodyContent.getContentDigest().get().getHex());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testVerifyUpload() throws IOException, IntegrationException {
+        File file = Files.createTempFile("upload", ".txt").toFile();
+        try {
+            Files.write(file.toPath(), CHECK_INPUT);
+            FileBodyContent fileBodyContent = new FileBodyContent(file, DigestAlgorithm.MD5);
+            assertThrows(IntegrationException.class, () -> fileBodyContent.verifyUpload(createResponse(ContentDigest.CONTENT_MD5_HEADER, "AAAAAAAAAAAAAAAAAAAAAA=="), false));
+
+            Request request = new Request.Builder("https://www.synopsys.com").bodyContent(fileBodyContent).build();
+            fileBodyContent.createEntity(request).writeTo(new ByteArrayOutputStream());
+
+            ContentDigest md5 = digest(DigestAlgorithm.MD5);
+            assertTrue(fileBodyContent.verifyUpload(createResponse(ContentDigest.CONTENT_MD5_HEADER, md5.getBase64()), false));
+            assertThrows(IntegrationException.class, () -> fileBodyContent.verifyUpload(createResponse(ContentDigest.DIGEST_HEADER, "md5=AAAAAAAAAAAAAAAAAAAAAA=="), false));
+            assertFalse(fileBodyContent.verifyUpload(createResponse(HttpHeaders.ETAG, "\"" + md5.getHex() + "\""), false));
+            assertTrue(fileBodyContent.verifyUpload(createResponse(HttpHeaders.ETAG, "\"" + md5.getHex() + "\""), true));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private ContentDigest digest(DigestAlgorithm digestAlgorithm) {
+        MessageDigest messageDigest = digestAlgorithm.createMessageDigest();
+        messageDigest.update(CHECK_INPUT);
+        return ContentDigest.of(digestAlgorithm, messageDigest);
+    }
+
+    private Response createResponse(String headerName, String headerValue) {
+        ClosableTestResponse httpResponse = new ClosableTestResponse();
+        httpResponse.addHeader(headerName, headerValue);
+        return httpResponse.toResponse();
+    }
+
+}
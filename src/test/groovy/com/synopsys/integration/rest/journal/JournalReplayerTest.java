@@ -0,0 +1,130 @@
+package com.synopsys.integration.rest.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.body.StringBodyContent;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class JournalReplayerTest {
+    private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> authorizations = Collections.synchronizedList(new ArrayList<>());
+    private volatile int unavailableFrom = Integer.MAX_VALUE;
+    private final MockWebServer server = new MockWebServer();
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        server.start();
+        path = Files.createTempFile("journal", ".log");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testReplayStopsWhileUnavailableAndResumes() throws Exception {
+        PrintStreamIntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+        IntHttpClient intHttpClient = new IntHttpClient(logger, 30, false, ProxyInfo.NO_PROXY_INFO);
+        String baseUri = server.url("/api/items/").toString();
+
+        try (RequestJournal requestJournal = new RequestJournal(path)) {
+            requestJournal.append(createRequest(baseUri + "1", "one"), "key-1");
+            requestJournal.append(createRequest(baseUri + "bad", "two"), "key-2");
+            requestJournal.append(createRequest(baseUri + "3", "three"), "key-3");
+            unavailableFrom = 2;
+
+            JournalReplayer.ReplayResult result = new JournalReplayer(logger, intHttpClient, requestJournal).replay();
+
+            assertEquals(1, result.getDeliveredCount());
+            assertEquals(1, result.getRejectedCount());
+            assertEquals(1, result.getRemainingCount());
+            assertFalse(result.isComplete());
+        }
+
+        unavailableFrom = Integer.MAX_VALUE;
+        try (RequestJournal requestJournal = new RequestJournal(path)) {
+            JournalReplayer.ReplayResult result = new JournalReplayer(logger, intHttpClient, requestJournal).replay();
+
+            assertEquals(1, result.getDeliveredCount());
+            assertTrue(result.isComplete());
+        }
+        assertEquals("key-1 one", received.get(0));
+        assertEquals("key-2 two", received.get(1));
+        assertEquals("key-3 three", received.get(2));
+        assertEquals("key-3 three", received.get(3));
+    }
+
+    @Test
+    public void testSendJournalsWithTheIdempotencyKeyAndAcknowledges() throws Exception {
+        PrintStreamIntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+        IntHttpClient intHttpClient = new IntHttpClient(logger, 30, false, ProxyInfo.NO_PROXY_INFO);
+        String baseUri = server.url("/api/items/").toString();
+
+        try (RequestJournal requestJournal = new RequestJournal(path)) {
+            JournalReplayer journalReplayer = new JournalReplayer(logger, intHttpClient, requestJournal);
+            Request request = new Request.Builder(createRequest(baseUri + "1", "one")).addAdditionalHeader("Authorization", "Bearer token").build();
+            try (Response response = journalReplayer.send(request)) {
+                assertEquals(204, response.getStatusCode().intValue());
+            }
+            assertEquals(0, requestJournal.getPendingCount());
+
+            unavailableFrom = 1;
+            try (Response response = journalReplayer.send(createRequest(baseUri + "2", "two"))) {
+                assertEquals(503, response.getStatusCode().intValue());
+            }
+            assertEquals(1, requestJournal.getPendingCount());
+        }
+        assertTrue(received.get(0).matches("[0-9a-f-]{36} one"));
+        assertEquals("Bearer token", authorizations.get(0));
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        authorizations.add(String.valueOf(request.getHeader("Authorization")));
+        received.add(request.getHeader("Idempotency-Key") + " " + request.getBody().readUtf8());
+        if (request.getPath().endsWith("bad")) {
+            return new MockResponse().setResponseCode(400);
+        } else if (received.size() > unavailableFrom) {
+            return new MockResponse().setResponseCode(503);
+        }
+        return new MockResponse().setResponseCode(204);
+    }
+
+    private Request createRequest(String uri, String body) {
+        return new Request.Builder(uri).method(HttpMethod.POST).mimeType("text/plain").bodyContent(new StringBodyContent(body)).build();
+    }
+
+}
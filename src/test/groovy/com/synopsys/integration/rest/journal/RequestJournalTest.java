@@ -0,0 +1,173 @@
+package com.synopsys.integration.rest.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.StringBodyContent;
+import com.synopsys.integration.rest.request.Request;
+
+public class RequestJournalTest {
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        path = Files.createTempFile("journal", ".log");
+        Files.delete(path);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testPendingEntriesSurviveReopen() throws Exception {
+        JournalEntry first;
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            first = requestJournal.append(createRequest(1));
+            JournalEntry second = requestJournal.append(createRequest(2), "key-2");
+            requestJournal.append(createRequest(3));
+            requestJournal.acknowledge(second);
+        }
+
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            List<JournalEntry> pending = requestJournal.getPendingEntries();
+            assertEquals(2, pending.size());
+            assertEquals(first.getIdempotencyKey(), pending.get(0).getIdempotencyKey());
+            assertEquals(3, pending.get(1).getSequence());
+
+            Request request = pending.get(0).toRequest("Idempotency-Key");
+            assertEquals(HttpMethod.PUT, request.getMethod());
+            assertEquals("http://localhost/api/items/1", request.getUri());
+            assertEquals("a", request.getQueryParameters().get("q").iterator().next());
+            assertEquals("trace", request.getAdditionalHeaders().get("X-Trace"));
+            assertEquals(first.getIdempotencyKey(), request.getAdditionalHeaders().get("Idempotency-Key"));
+            assertEquals("{\"value\":1}", EntityUtils.toString(request.createHttpEntity()));
+
+            assertEquals(4, requestJournal.append(createRequest(4)).getSequence());
+        }
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws Exception {
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            requestJournal.append(createRequest(1));
+            requestJournal.append(createRequest(2));
+        }
+        // corrupt the last byte of the second record, as a write cut short would
+        long secondRecordEnd;
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            fileChannel.read(length, 0);
+            long secondRecord = 8 + length.getInt(0);
+            length.clear();
+            fileChannel.read(length, secondRecord);
+            secondRecordEnd = secondRecord + 8 + length.getInt(0);
+            fileChannel.write(ByteBuffer.wrap(new byte[] { 42 }), secondRecordEnd - 1);
+        }
+
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            assertEquals(1, requestJournal.getPendingCount());
+            JournalEntry third = requestJournal.append(createRequest(3));
+            assertEquals(2, third.getSequence());
+        }
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            assertEquals(2, requestJournal.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testConcurrentAppendsGrowTheLog() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try (RequestJournal requestJournal = new RequestJournal(path, 1024)) {
+            List<Future<JournalEntry>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int id = i;
+                futures.add(executorService.submit(() -> requestJournal.append(createRequest(id))));
+            }
+            for (Future<JournalEntry> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(Files.size(path) > 1024);
+
+        try (RequestJournal requestJournal = new RequestJournal(path, 1024)) {
+            List<JournalEntry> pending = requestJournal.getPendingEntries();
+            assertEquals(200, pending.size());
+            for (JournalEntry entry : pending) {
+                requestJournal.acknowledge(entry);
+            }
+            assertEquals(0, requestJournal.getPendingCount());
+            // the log starts over once everything is acknowledged
+            assertEquals(0, readInt(0));
+            JournalEntry entry = requestJournal.append(createRequest(7));
+            assertNotEquals(0, readInt(0));
+            assertArrayEquals("{\"value\":7}".getBytes(StandardCharsets.UTF_8), entry.getBody());
+        }
+        try (RequestJournal requestJournal = new RequestJournal(path, 1024)) {
+            assertEquals(1, requestJournal.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testAuthenticationHeadersAreNotJournaled() throws Exception {
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            Request request = new Request.Builder(createRequest(1))
+                                  .addAdditionalHeader("Authorization", "Bearer secret-bearer")
+                                  .addAdditionalHeader("Proxy-Authorization", "Basic secret-proxy")
+                                  .addAdditionalHeader(RestConstants.X_CSRF_TOKEN, "secret-csrf")
+                                  .build();
+            requestJournal.append(request);
+        }
+
+        String contents = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        assertFalse(contents.contains("secret"));
+        try (RequestJournal requestJournal = new RequestJournal(path, 4096)) {
+            assertEquals(Collections.singletonMap("X-Trace", "trace"), requestJournal.getPendingEntries().get(0).getAdditionalHeaders());
+        }
+    }
+
+    private int readInt(long position) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            fileChannel.read(buffer, position);
+            return buffer.getInt(0);
+        }
+    }
+
+    private Request createRequest(int id) {
+        return new Request.Builder("http://localhost/api/items/" + id)
+                   .method(HttpMethod.PUT)
+                   .addQueryParameter("q", "a")
+                   .addAdditionalHeader("X-Trace", "trace")
+                   .bodyContent(new StringBodyContent("{\"value\":" + id + "}"))
+                   .build();
+    }
+
+}
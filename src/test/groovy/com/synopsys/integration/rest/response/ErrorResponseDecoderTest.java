@@ -0,0 +1,97 @@
+package com.synopsys.integration.rest.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.ClosableTestResponse;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Response;
+
+public class ErrorResponseDecoderTest {
+    private final ErrorResponseDecoder errorResponseDecoder = new ErrorResponseDecoder();
+
+    @Test
+    public void testDecode() {
+        Optional<ErrorResponse> errorResponse = errorResponseDecoder.decode("{\"details\":{\"a\":[1,2]},\"errorCode\":\"{core.rest.not_found}\",\"errorMessage\":\"No project\"}");
+        assertEquals("No project", errorResponse.get().getErrorMessage());
+        assertEquals("{core.rest.not_found}", errorResponse.get().getErrorCode());
+
+        assertEquals("No project", errorResponseDecoder.decode("{\"errorMessage\":\"No project\",\"errorCode\":null,\"tail\":").get().getErrorMessage());
+
+        assertFalse(errorResponseDecoder.decode("{\"errorMessage\":\"No project\"}").isPresent());
+        assertFalse(errorResponseDecoder.decode("<html><body>Bad Gateway</body></html>").isPresent());
+        assertFalse(errorResponseDecoder.decode("[{\"errorMessage\":\"a\",\"errorCode\":\"b\"}]").isPresent());
+        assertFalse(errorResponseDecoder.decode(null).isPresent());
+    }
+
+    @Test
+    public void testErrorContentIsBounded() throws IntegrationException {
+        String html = "<html>" + StringUtils.repeat("x", 100000) + "</html>";
+        ClosableTestResponse httpResponse = new ClosableTestResponse();
+        httpResponse.setStatusCode(RestConstants.BAD_GATEWAY_502);
+        httpResponse.setEntity(new StringEntity(html, StandardCharsets.UTF_8));
+        Response response = httpResponse.toResponse();
+
+        try {
+            response.throwExceptionForError(1024);
+        } catch (IntegrationRestException e) {
+            assertEquals(1024, e.getHttpResponseContent().length());
+            assertEquals(RestConstants.BAD_GATEWAY_502, e.getHttpStatusCode());
+            return;
+        }
+        throw new AssertionError("An exception should have been thrown.");
+    }
+
+    @Test
+    public void testBoundedReadLeavesTheRestUnread() throws IntegrationException {
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        AtomicBoolean responseClosed = new AtomicBoolean();
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[100000]) {
+            @Override
+            public void close() {
+                streamClosed.set(true);
+            }
+        };
+        ClosableTestResponse httpResponse = new ClosableTestResponse(RestConstants.BAD_GATEWAY_502) {
+            @Override
+            public void close() {
+                responseClosed.set(true);
+            }
+        };
+        httpResponse.setEntity(new InputStreamEntity(content, 100000));
+
+        assertEquals(1024, httpResponse.toResponse().getContentString(StandardCharsets.UTF_8, 1024).length());
+        assertEquals(100000 - 1024 - 1, content.available());
+        assertFalse(streamClosed.get());
+        assertTrue(responseClosed.get());
+    }
+
+    @Test
+    public void testErrorContentUsesTheResponseCharset() {
+        ClosableTestResponse httpResponse = new ClosableTestResponse(RestConstants.BAD_REQUEST_400);
+        httpResponse.setEntity(new StringEntity("caf\u00e9", ContentType.create("text/plain", StandardCharsets.ISO_8859_1)));
+
+        try {
+            httpResponse.toResponse().throwExceptionForError(1024);
+        } catch (IntegrationRestException e) {
+            assertEquals("caf\u00e9", e.getHttpResponseContent());
+            return;
+        }
+        throw new AssertionError("An exception should have been thrown.");
+    }
+
+}
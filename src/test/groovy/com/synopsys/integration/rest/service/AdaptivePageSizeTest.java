@@ -0,0 +1,53 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptivePageSizeTest {
+    @Test
+    public void testGrowsTowardTargetTime() {
+        AdaptivePageSize adaptivePageSize = new AdaptivePageSize(100, 10, 1000, 1000L, Long.MAX_VALUE);
+        // 1ms per item, so 1000 items would take the target time, but growth is limited to doubling
+        adaptivePageSize.recordPage(100, 100, 100L, 1000L, true);
+        assertEquals(200, adaptivePageSize.getPageSize());
+        adaptivePageSize.recordPage(200, 200, 200L, 2000L, true);
+        assertEquals(400, adaptivePageSize.getPageSize());
+    }
+
+    @Test
+    public void testShrinksWhenPagesAreSlow() {
+        AdaptivePageSize adaptivePageSize = new AdaptivePageSize(100, 10, 1000, 1000L, Long.MAX_VALUE);
+        adaptivePageSize.recordPage(100, 100, 10000L, 1000L, true);
+        assertEquals(50, adaptivePageSize.getPageSize());
+    }
+
+    @Test
+    public void testLimitedByPageBytes() {
+        AdaptivePageSize adaptivePageSize = new AdaptivePageSize(100, 10, 1000, 1000L, 12000L);
+        adaptivePageSize.recordPage(100, 100, 10L, 10000L, true);
+        assertEquals(120, adaptivePageSize.getPageSize());
+    }
+
+    @Test
+    public void testLearnsServerMaximum() {
+        AdaptivePageSize adaptivePageSize = new AdaptivePageSize(500, 10, 1000, 1000L, Long.MAX_VALUE);
+        adaptivePageSize.recordPage(500, 250, 10L, 1000L, true);
+        assertEquals(250, adaptivePageSize.getMaximumPageSize());
+        assertEquals(250, adaptivePageSize.getPageSize());
+    }
+
+    @Test
+    public void testLearnedMaximumGrowsAfterFullPages() {
+        AdaptivePageSize adaptivePageSize = new AdaptivePageSize(500, 10, 1000, 1000L, Long.MAX_VALUE);
+        adaptivePageSize.recordPage(500, 250, 10L, 1000L, true);
+        adaptivePageSize.recordPage(250, 250, 10L, 1000L, true);
+        adaptivePageSize.recordPage(250, 250, 10L, 1000L, true);
+        assertEquals(250, adaptivePageSize.getMaximumPageSize());
+
+        adaptivePageSize.recordPage(250, 250, 10L, 1000L, true);
+        assertEquals(500, adaptivePageSize.getMaximumPageSize());
+        assertEquals(500, adaptivePageSize.getPageSize());
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.ClosableTestResponse;
+import com.synopsys.integration.rest.component.IntRestComponent;
+import com.synopsys.integration.rest.request.Response;
+
+public class JsonArrayComponentIteratorTest {
+    private final IntJsonTransformer intJsonTransformer = new IntJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+
+    @Test
+    public void testIterateNestedArray() throws IntegrationException, IOException {
+        Response response = createResponse("{\"totalCount\":3,\"_meta\":{\"items\":[{\"name\":\"skipped\"}]},\"items\":[{\"name\":\"one\"},{\"name\":\"two\"},{\"name\":\"three\"}],\"after\":true}");
+
+        List<String> names = new ArrayList<>();
+        try (JsonArrayComponentIterator<ExampleComponent> iterator = intJsonTransformer.getComponentIterator(response, "items", ExampleComponent.class)) {
+            while (iterator.hasNext()) {
+                ExampleComponent exampleComponent = iterator.next();
+                assertNotNull(exampleComponent.getJson());
+                names.add(exampleComponent.name);
+            }
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+
+        assertEquals(3, names.size());
+        assertEquals("one", names.get(0));
+        assertEquals("three", names.get(2));
+    }
+
+    @Test
+    public void testIterateTopLevelArray() throws IntegrationException, IOException {
+        Response response = createResponse("[{\"name\":\"one\"},{\"name\":\"two\"}]");
+
+        try (JsonArrayComponentIterator<ExampleComponent> iterator = intJsonTransformer.getComponentIterator(response, "", ExampleComponent.class)) {
+            assertEquals("one", iterator.next().name);
+            assertEquals("two", iterator.next().name);
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testMissingArray() throws IntegrationException, IOException {
+        Response response = createResponse("{\"totalCount\":0}");
+
+        try (JsonArrayComponentIterator<ExampleComponent> iterator = intJsonTransformer.getComponentIterator(response, "items", ExampleComponent.class)) {
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    private Response createResponse(String content) {
+        ClosableTestResponse httpResponse = new ClosableTestResponse();
+        httpResponse.setEntity(new StringEntity(content, ContentType.APPLICATION_JSON));
+        return httpResponse.toResponse();
+    }
+
+    private static class ExampleComponent extends IntRestComponent {
+        private String name;
+
+    }
+
+}
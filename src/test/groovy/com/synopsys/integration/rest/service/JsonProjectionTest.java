@@ -0,0 +1,54 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.synopsys.integration.rest.component.IntRestComponent;
+
+public class JsonProjectionTest {
+    private static final String JSON = "{\"totalCount\":2,\"items\":[{\"name\":\"one\",\"version\":\"1.0\",\"license\":{\"name\":\"MIT\",\"text\":\"...\"}},{\"name\":\"two\",\"version\":\"2.0\",\"license\":null}],\"_meta\":{\"href\":\"link\"}}";
+
+    @Test
+    public void testProjectPaths() throws IOException {
+        JsonProjection projection = JsonProjection.ofPaths("totalCount", "items[*].name", "items.license.name");
+        JsonElement projected = projection.read(new JsonReader(new StringReader(JSON)));
+
+        assertEquals("{\"totalCount\":2,\"items\":[{\"name\":\"one\",\"license\":{\"name\":\"MIT\"}},{\"name\":\"two\",\"license\":null}]}", projected.toString());
+    }
+
+    @Test
+    public void testProjectType() throws IOException {
+        JsonProjection projection = JsonProjection.ofType(ExampleView.class);
+        JsonElement projected = projection.read(new JsonReader(new StringReader(JSON)));
+
+        assertEquals("{\"totalCount\":2,\"items\":[{\"name\":\"one\",\"license\":{\"name\":\"MIT\",\"text\":\"...\"}},{\"name\":\"two\",\"license\":null}]}", projected.toString());
+    }
+
+    private static class ExampleView extends IntRestComponent {
+        private int totalCount;
+        @SerializedName("items")
+        private List<ExampleItem> exampleItems;
+
+    }
+
+    private static class ExampleItem extends IntRestComponent {
+        private String name;
+        private ExampleLicense license;
+
+    }
+
+    private static class ExampleLicense {
+        private String name;
+        private String text;
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.ClosableTestResponse;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.body.NdjsonBodyContent;
+import com.synopsys.integration.rest.component.IntRestComponent;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class NdjsonComponentIteratorTest {
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    @Test
+    public void testRoundTrip() throws IntegrationException, IOException {
+        List<ExampleComponent> components = Arrays.asList(new ExampleComponent("one"), new ExampleComponent("two"));
+        Request request = new Request.Builder("https://www.synopsys.com").method(HttpMethod.POST).bodyContent(new NdjsonBodyContent(gson, components::iterator)).build();
+        HttpEntity entity = request.createHttpEntity();
+        assertTrue(entity.isRepeatable());
+        assertEquals(-1L, entity.getContentLength());
+        assertTrue(entity.getContentType().getValue().startsWith(RestConstants.NDJSON_MIME_TYPE));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        byte[] content = outputStream.toByteArray();
+        assertEquals("{\"name\":\"one\"}\n{\"name\":\"two\"}\n", new String(content, StandardCharsets.UTF_8));
+
+        ClosableTestResponse httpResponse = new ClosableTestResponse();
+        httpResponse.setEntity(new ByteArrayEntity(content));
+        Response response = httpResponse.toResponse();
+
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.DEBUG));
+        try (NdjsonComponentIterator<ExampleComponent> iterator = intJsonTransformer.getNdjsonComponentIterator(response, ExampleComponent.class)) {
+            assertEquals("one", iterator.next().name);
+            assertEquals("two", iterator.next().name);
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testIteratorBodyIsNotRepeatable() {
+        Request request = new Request.Builder("https://www.synopsys.com").method(HttpMethod.POST).bodyContent(new NdjsonBodyContent(gson, Arrays.asList("a", "b").iterator())).build();
+        assertFalse(request.createHttpEntity().isRepeatable());
+    }
+
+    private static class ExampleComponent extends IntRestComponent {
+        private final String name;
+
+        public ExampleComponent(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
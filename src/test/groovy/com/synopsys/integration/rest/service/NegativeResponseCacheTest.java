@@ -0,0 +1,107 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.exception.ApiException;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class NegativeResponseCacheTest {
+    @Test
+    public void testMissingUrisAreRemembered() {
+        NegativeResponseCache negativeResponseCache = new NegativeResponseCache();
+        Request request = new Request.Builder("https://www.synopsys.com/api/projects/1").build();
+
+        negativeResponseCache.put(request, RestConstants.BAD_REQUEST_400, "Bad Request");
+        assertFalse(negativeResponseCache.find(request).isPresent());
+
+        negativeResponseCache.put(request, RestConstants.NOT_FOUND_404, "Not Found");
+        Optional<IntegrationRestException> knownMissing = negativeResponseCache.find(request);
+        assertTrue(knownMissing.isPresent());
+        assertEquals(RestConstants.NOT_FOUND_404, knownMissing.get().getHttpStatusCode());
+        assertEquals(0, knownMissing.get().getStackTrace().length);
+
+        negativeResponseCache.remove(request);
+        assertFalse(negativeResponseCache.find(request).isPresent());
+    }
+
+    @Test
+    public void testMessageHasOnlyTheUri() {
+        NegativeResponseCache negativeResponseCache = new NegativeResponseCache();
+        Request request = new Request.Builder("https://www.synopsys.com/api/projects/1").addAdditionalHeader(HttpHeaders.AUTHORIZATION, "Bearer secret").build();
+        negativeResponseCache.put(request, RestConstants.NOT_FOUND_404, "Not Found", "{\"errorMessage\":\"No project\",\"errorCode\":\"{core.rest.not_found}\"}");
+
+        IntegrationRestException knownMissing = negativeResponseCache.find(request).get();
+        assertEquals("There was a problem trying to GET https://www.synopsys.com/api/projects/1, response was 404 (remembered from an earlier request).", knownMissing.getMessage());
+        assertTrue(knownMissing.getHttpResponseContent().contains("No project"));
+    }
+
+    @Test
+    public void testRememberedAnswerIsTransformedLikeTheFirst() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.incrementAndGet();
+                return new MockResponse().setResponseCode(RestConstants.NOT_FOUND_404).setBody("{\"errorMessage\":\"No project\",\"errorCode\":\"{core.rest.not_found}\"}");
+            }
+        });
+        server.start();
+        try {
+            PrintStreamIntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+            IntResponseTransformer intResponseTransformer = new IntResponseTransformer(new IntHttpClient(logger, 30, false, ProxyInfo.NO_PROXY_INFO), new IntJsonTransformer(new Gson(), logger), null,
+                new NegativeResponseCache());
+            Request request = new Request.Builder(server.url("/api/projects/1").toString()).build();
+
+            ApiException first = assertThrows(ApiException.class, () -> intResponseTransformer.getResponse(request, IntRestResponse.class));
+            ApiException remembered = assertThrows(ApiException.class, () -> intResponseTransformer.getResponse(request, IntRestResponse.class));
+
+            assertEquals(1, requests.get());
+            assertEquals(first.getErrorCode(), remembered.getErrorCode());
+            assertEquals(RestConstants.NOT_FOUND_404, remembered.getOriginalIntegrationRestException().getHttpStatusCode());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testExpiryAndBound() throws InterruptedException {
+        NegativeResponseCache expiring = new NegativeResponseCache(1, 10);
+        Request request = new Request.Builder("https://www.synopsys.com/api/projects/1").build();
+        expiring.put(request, RestConstants.GONE_410, "Gone");
+        Thread.sleep(5);
+        assertFalse(expiring.find(request).isPresent());
+
+        NegativeResponseCache bounded = new NegativeResponseCache(60000, 2);
+        for (int i = 0; i < 3; i++) {
+            bounded.put(new Request.Builder("https://www.synopsys.com/api/projects/" + i).build(), RestConstants.NOT_FOUND_404, "Not Found");
+        }
+        assertEquals(2, bounded.size());
+        assertFalse(bounded.find(new Request.Builder("https://www.synopsys.com/api/projects/0").build()).isPresent());
+        assertTrue(bounded.find(new Request.Builder("https://www.synopsys.com/api/projects/2").build()).isPresent());
+    }
+
+}
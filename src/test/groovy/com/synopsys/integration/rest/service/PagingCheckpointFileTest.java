@@ -0,0 +1,173 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.RestConstants;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.PageRequestHandler;
+import com.synopsys.integration.rest.request.Request;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class PagingCheckpointFileTest {
+    private static final String URI = "https://www.synopsys.com/api/components";
+
+    private final Gson gson = new Gson();
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicBoolean failLastPage = new AtomicBoolean();
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("paging-checkpoint");
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                int offset = Integer.parseInt(request.getPath().replaceAll(".*offset=(\\d+).*", "$1"));
+                if (4 == offset && failLastPage.get()) {
+                    return new MockResponse().setResponseCode(RestConstants.UNAVAILABLE_503);
+                }
+                List<Integer> items = new ArrayList<>();
+                for (int item = offset + 1; item <= Math.min(offset + 2, 5); item++) {
+                    items.add(item);
+                }
+                return new MockResponse().setBody("{\"totalCount\":5,\"items\":" + items + "}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        server.shutdown();
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void testResponsesResumeAfterCrash() throws IOException, IntegrationException {
+        PagingCheckpointFile checkpointFile = new PagingCheckpointFile(directory.resolve("components.checkpoint"), gson);
+        // a page left by a run that stopped before it saved its first checkpoint
+        Files.write(checkpointFile.getPagesPath(), "{\"totalCount\":99,\"items\":[99]}\n".getBytes(StandardCharsets.UTF_8));
+
+        IntResponseTransformer intResponseTransformer = new IntResponseTransformer(
+            new IntHttpClient(new PrintStreamIntLogger(System.out, LogLevel.INFO), 30, false, ProxyInfo.NO_PROXY_INFO),
+            new IntJsonTransformer(gson, new PrintStreamIntLogger(System.out, LogLevel.INFO)));
+        Request.Builder requestBuilder = new Request.Builder(server.url("/api/items").toString());
+
+        failLastPage.set(true);
+        assertThrows(IntegrationException.class, () -> intResponseTransformer.getResponses(requestBuilder, new ItemsPageRequestHandler(), ItemsResponse.class, 2, checkpointFile));
+        assertEquals(2, checkpointFile.load().get().getPageCount());
+
+        failLastPage.set(false);
+        ItemsResponse itemsResponse = intResponseTransformer.getResponses(requestBuilder, new ItemsPageRequestHandler(), ItemsResponse.class, 2, checkpointFile);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), itemsResponse.items);
+        assertFalse(Files.exists(checkpointFile.getCheckpointPath()));
+        assertFalse(Files.exists(checkpointFile.getPagesPath()));
+    }
+
+    @Test
+    public void testResumeFromSavedCheckpoint() throws IntegrationException {
+        PagingCheckpointFile checkpointFile = new PagingCheckpointFile(directory.resolve("components.checkpoint"), gson);
+        assertFalse(checkpointFile.load().isPresent());
+
+        PagingCheckpoint checkpoint = new PagingCheckpoint(URI);
+        long pagesLength = checkpointFile.appendPage("{\"totalCount\":3,\"items\":[1,2]}");
+        checkpoint = checkpoint.nextPage(2, 2, 3, pagesLength);
+        checkpointFile.save(checkpoint);
+
+        // a page retrieved after the last save must not be reused
+        checkpointFile.appendPage("{\"totalCount\":3,\"items\":[3]}");
+
+        Optional<PagingCheckpoint> loadedCheckpoint = checkpointFile.load();
+        assertTrue(loadedCheckpoint.isPresent());
+        assertEquals(URI, loadedCheckpoint.get().getUri());
+        assertEquals(2, loadedCheckpoint.get().getOffset());
+        assertEquals(2, loadedCheckpoint.get().getCurrentResponseCount());
+        assertFalse(loadedCheckpoint.get().isComplete());
+
+        List<String> pages = checkpointFile.loadPages(loadedCheckpoint.get());
+        assertEquals(Arrays.asList("{\"totalCount\":3,\"items\":[1,2]}"), pages);
+
+        checkpointFile.delete();
+        assertFalse(Files.exists(checkpointFile.getCheckpointPath()));
+        assertFalse(Files.exists(checkpointFile.getPagesPath()));
+    }
+
+    @Test
+    public void testPrettyPrintedPagesAreCompacted() throws IntegrationException {
+        PagingCheckpointFile checkpointFile = new PagingCheckpointFile(directory.resolve("components.checkpoint"), gson);
+        long pagesLength = checkpointFile.appendPage(String.format("{%n  \"totalCount\": 1%n}"));
+        PagingCheckpoint checkpoint = new PagingCheckpoint(URI).nextPage(10, 1, 1, pagesLength);
+
+        assertTrue(checkpoint.isComplete());
+        assertEquals(Arrays.asList("{\"totalCount\":1}"), checkpointFile.loadPages(checkpoint));
+    }
+
+    public static class ItemsResponse extends IntRestResponse {
+        private int totalCount;
+        private List<Integer> items = new ArrayList<>();
+
+    }
+
+    private static class ItemsPageRequestHandler implements PageRequestHandler {
+        @Override
+        public Request createPageRequest(Request.Builder requestBuilder, int offset, int limit) {
+            return new Request.Builder(requestBuilder.build())
+                       .addQueryParameter("offset", String.valueOf(offset))
+                       .addQueryParameter("limit", String.valueOf(limit))
+                       .build();
+        }
+
+        @Override
+        public <R extends IntRestResponse> int getTotalResponseCount(R response) {
+            return ((ItemsResponse) response).totalCount;
+        }
+
+        @Override
+        public <R extends IntRestResponse> int getCurrentResponseCount(R response) {
+            return ((ItemsResponse) response).items.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R extends IntRestResponse> R combineResponses(Collection<R> pagedResponses) {
+            ItemsResponse combined = new ItemsResponse();
+            for (R pagedResponse : pagedResponses) {
+                combined.totalCount = ((ItemsResponse) pagedResponse).totalCount;
+                combined.items.addAll(((ItemsResponse) pagedResponse).items);
+            }
+            return (R) combined;
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonObject;
+import com.synopsys.integration.rest.ClosableTestResponse;
+import com.synopsys.integration.rest.component.IntRestResponse;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class ParsedResponseCacheTest {
+    @Test
+    public void testKeyIgnoresQueryParameterOrder() {
+        Request first = new Request.Builder("https://www.synopsys.com/api").addQueryParameter("q", "name:x").addQueryParameter("limit", "10").build();
+        Request second = new Request.Builder("https://www.synopsys.com/api").addQueryParameter("limit", "10").addQueryParameter("q", "name:x").build();
+        assertEquals(ParsedResponseCache.createKey(first, IntRestResponse.class), ParsedResponseCache.createKey(second, IntRestResponse.class));
+    }
+
+    @Test
+    public void testKeyIncludesAcceptAndAuthorization() {
+        Request json = new Request.Builder("https://www.synopsys.com/api").mimeType("application/json").build();
+        Request text = new Request.Builder("https://www.synopsys.com/api").mimeType("text/plain").build();
+        Request scoped = new Request.Builder("https://www.synopsys.com/api").mimeType("application/json").addAdditionalHeader("authorization", "Bearer scope-a").build();
+        Request otherScope = new Request.Builder("https://www.synopsys.com/api").mimeType("application/json").addAdditionalHeader(HttpHeaders.AUTHORIZATION, "Bearer scope-b").build();
+
+        assertNotEquals(ParsedResponseCache.createKey(json), ParsedResponseCache.createKey(text));
+        assertNotEquals(ParsedResponseCache.createKey(json), ParsedResponseCache.createKey(scoped));
+        assertNotEquals(ParsedResponseCache.createKey(scoped), ParsedResponseCache.createKey(otherScope));
+        assertFalse(ParsedResponseCache.createKey(scoped).contains("scope-a"));
+    }
+
+    @Test
+    public void testEntriesWithoutJsonHaveWeight() {
+        ParsedResponseCache parsedResponseCache = new ParsedResponseCache(100, false);
+        for (int i = 0; i < 10; i++) {
+            parsedResponseCache.put("entry" + i, new IntRestResponse(), createResponse(HttpHeaders.ETAG, "1"));
+        }
+        assertTrue(parsedResponseCache.getTotalWeight() > 0);
+        assertTrue(parsedResponseCache.getTotalWeight() <= 100);
+        assertTrue(parsedResponseCache.size() < 10);
+
+        ParsedResponseCache copyingCache = new ParsedResponseCache();
+        assertTrue(copyingCache.isCopyOnRead());
+        copyingCache.put("nojson", new IntRestResponse(), createResponse(HttpHeaders.ETAG, "1"));
+        assertFalse(copyingCache.get("nojson").isPresent());
+    }
+
+    @Test
+    public void testValidatorsAndFreshness() {
+        ParsedResponseCache parsedResponseCache = new ParsedResponseCache();
+        IntRestResponse intRestResponse = createIntRestResponse(10);
+
+        parsedResponseCache.put("etag", intRestResponse, createResponse(HttpHeaders.ETAG, "\"v1\""));
+        ParsedResponseCache.CachedResponse cachedResponse = parsedResponseCache.get("etag").get();
+        assertSame(intRestResponse, cachedResponse.getIntRestResponse());
+        assertFalse(cachedResponse.isFresh());
+        Request conditionalRequest = cachedResponse.createConditionalRequest(new Request.Builder("https://www.synopsys.com/api").build());
+        assertEquals("\"v1\"", conditionalRequest.getAdditionalHeaders().get(HttpHeaders.IF_NONE_MATCH));
+
+        parsedResponseCache.put("fresh", intRestResponse, createResponse(HttpHeaders.CACHE_CONTROL, "private, max-age=60"));
+        assertTrue(parsedResponseCache.get("fresh").get().isFresh());
+
+        parsedResponseCache.put("unvalidated", intRestResponse, createResponse(HttpHeaders.CONTENT_TYPE, "application/json"));
+        assertFalse(parsedResponseCache.get("unvalidated").isPresent());
+
+        parsedResponseCache.put("nostore", intRestResponse, createResponse(HttpHeaders.CACHE_CONTROL, "no-store"));
+        assertFalse(parsedResponseCache.get("nostore").isPresent());
+    }
+
+    @Test
+    public void testNotModifiedUpdatesValidators() {
+        ParsedResponseCache parsedResponseCache = new ParsedResponseCache();
+        parsedResponseCache.put("etag", createIntRestResponse(10), createResponse(HttpHeaders.ETAG, "\"v1\""));
+
+        ClosableTestResponse notModified = new ClosableTestResponse();
+        notModified.addHeader(HttpHeaders.ETAG, "\"v2\"");
+        notModified.addHeader(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+        parsedResponseCache.refresh("etag", notModified.toResponse("https://www.synopsys.com/api"));
+
+        Request conditionalRequest = parsedResponseCache.get("etag").get().createConditionalRequest(new Request.Builder("https://www.synopsys.com/api").build());
+        assertEquals("\"v2\"", conditionalRequest.getAdditionalHeaders().get(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", conditionalRequest.getAdditionalHeaders().get(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    public void testCopiesAreBoundFromTheParsedJson() {
+        IntRestResponse intRestResponse = new IntRestResponse();
+        intRestResponse.setJson("{\"name\":\"cached\"}");
+        ParsedResponseCache copyingCache = new ParsedResponseCache();
+        copyingCache.put("copied", intRestResponse, createResponse(HttpHeaders.ETAG, "1"));
+
+        JsonObject first = copyingCache.get("copied").get().copyJsonObject().get();
+        first.addProperty("name", "changed");
+        assertEquals("cached", copyingCache.get("copied").get().copyJsonObject().get().get("name").getAsString());
+
+        ParsedResponseCache sharingCache = new ParsedResponseCache(1024, false);
+        sharingCache.put("shared", intRestResponse, createResponse(HttpHeaders.ETAG, "1"));
+        assertFalse(sharingCache.get("shared").get().copyJsonObject().isPresent());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        ParsedResponseCache parsedResponseCache = new ParsedResponseCache(100, false);
+        parsedResponseCache.put("first", createIntRestResponse(10), createResponse(HttpHeaders.ETAG, "1"));
+        parsedResponseCache.put("second", createIntRestResponse(10), createResponse(HttpHeaders.ETAG, "2"));
+        parsedResponseCache.get("first");
+        parsedResponseCache.put("third", createIntRestResponse(10), createResponse(HttpHeaders.ETAG, "3"));
+
+        assertTrue(parsedResponseCache.get("first").isPresent());
+        assertFalse(parsedResponseCache.get("second").isPresent());
+        assertTrue(parsedResponseCache.get("third").isPresent());
+        assertEquals(80, parsedResponseCache.getTotalWeight());
+    }
+
+    private IntRestResponse createIntRestResponse(int jsonLength) {
+        IntRestResponse intRestResponse = new IntRestResponse();
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 2; i < jsonLength; i++) {
+            json.append(' ');
+        }
+        intRestResponse.setJson(json.append('}').toString());
+        return intRestResponse;
+    }
+
+    private Response createResponse(String headerName, String headerValue) {
+        ClosableTestResponse httpResponse = new ClosableTestResponse();
+        httpResponse.addHeader(headerName, headerValue);
+        return httpResponse.toResponse("https://www.synopsys.com/api");
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.synopsys.integration.rest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.component.IntRestComponent;
+
+public class StringInternerTest {
+    private static final String JSON = "{\"items\":[{\"status\":\"IN_VIOLATION\",\"license\":\"Apache License 2.0\"},{\"status\":\"IN_VIOLATION\",\"license\":\"Apache License 2.0\"}]}";
+
+    @Test
+    public void testBounds() {
+        StringInterner stringInterner = new StringInterner(1, 5);
+        String first = new String("short");
+        assertSame(first, stringInterner.intern(first));
+        assertSame(first, stringInterner.intern(new String("short")));
+
+        String tooLong = new String("too long");
+        assertNotSame(tooLong, stringInterner.intern(new String("too long")));
+
+        // the table is full, so new values are not retained
+        String other = new String("other");
+        assertSame(other, stringInterner.intern(other));
+        assertNotSame(other, stringInterner.intern(new String("other")));
+        assertEquals(1, stringInterner.size());
+    }
+
+    @Test
+    public void testParsedComponentsShareStrings() throws IntegrationException {
+        StringInterner stringInterner = new StringInterner();
+        IntJsonTransformer intJsonTransformer = new IntJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.DEBUG), false, stringInterner);
+        ExampleResponse exampleResponse = intJsonTransformer.getComponentAs(JSON, ExampleResponse.class);
+
+        ExampleItem first = exampleResponse.items.get(0);
+        ExampleItem second = exampleResponse.items.get(1);
+        assertEquals("IN_VIOLATION", first.status);
+        assertSame(first.status, second.status);
+        assertSame(first.license, second.license);
+
+        JsonObject jsonObject = exampleResponse.getJsonElement().getAsJsonObject();
+        String firstKey = jsonObject.getAsJsonArray("items").get(0).getAsJsonObject().keySet().iterator().next();
+        String secondKey = jsonObject.getAsJsonArray("items").get(1).getAsJsonObject().keySet().iterator().next();
+        assertSame(firstKey, secondKey);
+    }
+
+    @Test
+    public void testTypeAdapterFactory() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new InterningTypeAdapterFactory(new StringInterner())).create();
+        ExampleResponse exampleResponse = gson.fromJson(JSON, ExampleResponse.class);
+        assertSame(exampleResponse.items.get(0).license, exampleResponse.items.get(1).license);
+    }
+
+    private static class ExampleResponse extends IntRestComponent {
+        private List<ExampleItem> items;
+
+    }
+
+    private static class ExampleItem extends IntRestComponent {
+        private String status;
+        private String license;
+
+    }
+
+}